@@ -0,0 +1,71 @@
+package com.boardcamp.api;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.models.RentalsModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Jackson output of the response bodies, configured like Spring Boot's ObjectMapper.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private RentalsModel rental;
+    private List<RentalsModel> rentalsPage;
+    private List<GamesModel> catalog;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        CustomersModel customer = new CustomersModel(1L, "Maria Silva", "21999990000", "12345678900");
+        GamesModel game = new GamesModel(1L, "Catan", "https://example.com/catan.png", 5, 15);
+        rental = new RentalsModel(1L, LocalDate.of(2025, 1, 10), 3, LocalDate.of(2025, 1, 15), 45, 30, customer, game);
+        rentalsPage = LongStream.rangeClosed(1, 100)
+            .mapToObj(id -> new RentalsModel(id, LocalDate.of(2025, 1, 10), 3, null, 45, 0, customer, game))
+            .toList();
+        catalog = LongStream.rangeClosed(1, 100)
+            .mapToObj(id -> new GamesModel(id, "Game " + id, "https://example.com/" + id + ".png", 5, 15))
+            .toList();
+    }
+
+    @Benchmark
+    public byte[] rental() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(rental);
+    }
+
+    @Benchmark
+    public byte[] rentalsPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(rentalsPage);
+    }
+
+    @Benchmark
+    public byte[] gamesCatalog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+}
@@ -0,0 +1,76 @@
+package com.boardcamp.api;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.boardcamp.api.dtos.CustomersDTO;
+import com.boardcamp.api.dtos.RentalsDTO;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+// Bean Validation cost of the request bodies behind @Valid, for valid and invalid input.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private RentalsDTO validRental;
+    private RentalsDTO invalidRental;
+    private CustomersDTO validCustomer;
+    private CustomersDTO invalidCustomer;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validRental = new RentalsDTO(1L, 1L, 3);
+        invalidRental = new RentalsDTO(null, 1L, 0);
+        validCustomer = new CustomersDTO("Maria Silva", "21999990000", "12345678900");
+        invalidCustomer = new CustomersDTO("", "123", "123");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RentalsDTO>> validRentalsDTO() {
+        return validator.validate(validRental);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RentalsDTO>> invalidRentalsDTO() {
+        return validator.validate(invalidRental);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomersDTO>> validCustomersDTO() {
+        return validator.validate(validCustomer);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomersDTO>> invalidCustomersDTO() {
+        return validator.validate(invalidCustomer);
+    }
+}
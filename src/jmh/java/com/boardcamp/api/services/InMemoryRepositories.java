@@ -0,0 +1,30 @@
+package com.boardcamp.api.services;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+// Repository stand-ins for benchmarks: a dynamic proxy answering only the methods
+// listed by name, so service code runs without a database or Mockito's overhead.
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static <R> R of(Class<R> type, Map<String, Function<Object[], Object>> methods) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stand-in";
+                };
+            }
+            Function<Object[], Object> body = methods.get(method.getName());
+            if (body == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return body.apply(args);
+        }));
+    }
+}
@@ -0,0 +1,106 @@
+package com.boardcamp.api.services;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.boardcamp.api.dtos.RentalsDTO;
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.repositories.CustomerRevenueDailyRepository;
+import com.boardcamp.api.repositories.CustomersRepository;
+import com.boardcamp.api.repositories.GameRevenueDailyRepository;
+import com.boardcamp.api.repositories.GamesRepository;
+import com.boardcamp.api.repositories.RentalsRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Service logic of the rental hot paths with repositories replaced by in-memory
+// stand-ins; transactions and SQL are deliberately out of the picture.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RentalsServiceBenchmark {
+
+    private RentalsService rentalsService;
+    private RentalsDTO rentalsDTO;
+    private RentalsModel lateRental;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() {
+        CustomersModel customer = new CustomersModel(1L, "Test", "21999990000", "12345678900");
+        GamesModel game = new GamesModel(1L, "Catan", "catan.png", Integer.MAX_VALUE, 15);
+        today = LocalDate.now();
+        lateRental = new RentalsModel(1L, today.minusDays(10), 3, null, 45, 0, customer, game);
+
+        AtomicLong ids = new AtomicLong();
+        GamesRepository gamesRepository = InMemoryRepositories.of(GamesRepository.class, Map.of(
+            "findById", args -> Optional.of(game),
+            "reserveCopy", args -> 1,
+            "releaseCopies", args -> 1));
+        CustomersRepository customersRepository = InMemoryRepositories.of(CustomersRepository.class, Map.of(
+            "findById", args -> Optional.of(customer)));
+        // Every load returns a fresh open rental, as a database read would.
+        RentalsRepository rentalsRepository = InMemoryRepositories.of(RentalsRepository.class, Map.of(
+            "findById", args -> Optional.of(new RentalsModel(
+                (Long) args[0], today.minusDays(5), 3, null, 45, 0, customer, game)),
+            "save", args -> {
+                RentalsModel rental = (RentalsModel) args[0];
+                if (rental.getId() == null) {
+                    rental.setId(ids.incrementAndGet());
+                }
+                return rental;
+            }));
+
+        GamesAvailabilityService gamesAvailabilityService = new GamesAvailabilityService(
+            gamesRepository, rentalsRepository, null, new SimpleMeterRegistry());
+        OverdueRentalsService overdueRentalsService = new OverdueRentalsService(
+            rentalsRepository, null, new SimpleMeterRegistry());
+        RevenueRollupService revenueRollupService = new RevenueRollupService(
+            InMemoryRepositories.of(GameRevenueDailyRepository.class, Map.of(
+                "insertIfMissing", args -> null,
+                "increment", args -> 1)),
+            InMemoryRepositories.of(CustomerRevenueDailyRepository.class, Map.of(
+                "insertIfMissing", args -> null,
+                "increment", args -> 1)),
+            false);
+        rentalsService = new RentalsService(
+            rentalsRepository, gamesRepository, customersRepository, gamesAvailabilityService, overdueRentalsService,
+            revenueRollupService, null, null);
+        rentalsDTO = new RentalsDTO(1L, 1L, 3);
+    }
+
+    @Benchmark
+    public RentalsModel postRentals() {
+        return rentalsService.postRentals(rentalsDTO);
+    }
+
+    @Benchmark
+    public RentalsModel updateRentals() {
+        return rentalsService.updateRentals(1L);
+    }
+
+    @Benchmark
+    public Integer delayFee() {
+        RentalsService.returnRental(lateRental, today);
+        return lateRental.getDelayFee();
+    }
+}
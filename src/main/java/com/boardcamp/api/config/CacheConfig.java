@@ -0,0 +1,74 @@
+package com.boardcamp.api.config;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.boardcamp.api.models.GamesModel;
+
+// Spring Boot's Caffeine cache manager, configured from spring.cache.*, with two
+// changes for the entity caches of GamesRepository. Puts and evictions made inside
+// a transaction only reach the cache after it commits, so a reader cannot refill
+// the catalog with rows from before a write that is still in flight. And entities
+// are stored and handed out as copies, so no caller shares, or can change, the
+// instance another transaction is working with.
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new TransactionAwareCacheDecorator(new CopyingCaffeineCache(name, cache, isAllowNullValues()));
+            }
+        };
+        if (properties.getCaffeine().getSpec() != null) {
+            cacheManager.setCacheSpecification(properties.getCaffeine().getSpec());
+        }
+        cacheManager.setCacheNames(properties.getCacheNames());
+        return cacheManager;
+    }
+
+    static class CopyingCaffeineCache extends CaffeineCache {
+
+        CopyingCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        protected Object toStoreValue(Object userValue) {
+            return super.toStoreValue(copy(userValue));
+        }
+
+        @Override
+        protected Object fromStoreValue(Object storeValue) {
+            return copy(super.fromStoreValue(storeValue));
+        }
+
+        static Object copy(Object value) {
+            if (value instanceof GamesModel game) {
+                return new GamesModel(
+                    game.getId(),
+                    game.getName(),
+                    game.getImage(),
+                    game.getStockTotal(),
+                    game.getPricePerDay(),
+                    game.getRentedCount());
+            }
+            if (value instanceof List<?> list) {
+                return list.stream().map(CopyingCaffeineCache::copy).toList();
+            }
+            return value;
+        }
+    }
+}
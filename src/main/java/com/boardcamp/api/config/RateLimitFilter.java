@@ -0,0 +1,77 @@
+package com.boardcamp.api.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.boardcamp.api.config.RateLimiter.Grant;
+import com.boardcamp.api.config.RateLimiter.Rule;
+import com.boardcamp.api.config.RateLimiter.Rules;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Applies the per-client and global limits of the configured endpoints before the
+// request reaches Spring MVC, narrowest first, so a client refused by its own bucket
+// never spends a global token. The per-customer limits need the parsed request, so
+// the controllers apply those through RateLimiter.acquireForCustomer, which hands
+// back the tokens taken here when the customer's bucket refuses.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String GLOBAL_KEY = "*";
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+        Rules rules = rateLimiter.forRoute(request.getMethod(), request.getRequestURI());
+        if (rules != null) {
+            long now = System.nanoTime();
+            List<Grant> granted = new ArrayList<>(2);
+            long wait = acquire(rules.perClient(), request.getRemoteAddr(), now, granted);
+            if (wait == 0) {
+                wait = acquire(rules.global(), GLOBAL_KEY, now, granted);
+            }
+            if (wait > 0) {
+                rateLimiter.giveBack(granted);
+                reject(response, wait);
+                return;
+            }
+            request.setAttribute(RateLimiter.GRANTED, granted);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private long acquire(Rule rule, String key, long now, List<Grant> granted) {
+        if (rule == null) {
+            return 0;
+        }
+        long wait = rateLimiter.tryAcquire(rule, key, now);
+        if (wait == 0) {
+            granted.add(new Grant(rule, key));
+        }
+        return wait;
+    }
+
+    // Retry-After only takes whole seconds.
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds(waitNanos)));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getOutputStream().write("Too many requests.".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,49 @@
+package com.boardcamp.api.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties("boardcamp.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets that have been full for this long are dropped; recreating one loses nothing.
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // Keyed by endpoint name, e.g. "rentals-create".
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class Endpoint {
+
+        private String method;
+
+        private String path;
+
+        // Shared by every caller of the endpoint.
+        private Limit global;
+
+        // Keyed by the client address.
+        private Limit perClient;
+
+        // Keyed by the customer id the request acts for.
+        private Limit perCustomer;
+    }
+
+    @Data
+    public static class Limit {
+
+        // Sustained requests per second.
+        private double rate;
+
+        // Requests allowed at once after the bucket has been idle.
+        private int burst = 1;
+    }
+}
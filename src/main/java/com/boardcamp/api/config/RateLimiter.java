@@ -0,0 +1,190 @@
+package com.boardcamp.api.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.boardcamp.api.config.RateLimitProperties.Endpoint;
+import com.boardcamp.api.config.RateLimitProperties.Limit;
+import com.boardcamp.api.exceptions.RateLimitExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Token buckets kept as GCRA: each bucket is a single AtomicLong holding the
+// theoretical arrival time of its next request, so taking a token is one CAS and a
+// bucket whose time has passed is simply full. Each rule keeps its buckets in a
+// ConcurrentHashMap keyed by caller; entries full for longer than idle-timeout are
+// dropped by evictIdle, which cannot change any outcome since a new bucket starts full.
+public class RateLimiter {
+
+    public static final String GLOBAL = "global";
+    public static final String CLIENT = "client";
+    public static final String CUSTOMER = "customer";
+
+    // Request attribute holding the tokens RateLimitFilter took for the request.
+    public static final String GRANTED = RateLimiter.class.getName() + ".granted";
+
+    // One limit of one endpoint, holding the buckets of every caller it has seen.
+    public static final class Rule {
+
+        final String endpoint;
+        final String scope;
+        final long intervalNanos;
+        final long toleranceNanos;
+        final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        // A rate of zero or less would overflow the arrival times in tryAcquire, so
+        // such a limit fails at startup instead.
+        Rule(String endpoint, String scope, Limit limit) {
+            if (!(limit.getRate() > 0) || limit.getBurst() < 1) {
+                throw new IllegalArgumentException(
+                    "Rate limit " + endpoint + "." + scope + " needs a positive rate and a burst of at least 1");
+            }
+            this.endpoint = endpoint;
+            this.scope = scope;
+            this.intervalNanos = Math.max(1, (long) (1_000_000_000L / limit.getRate()));
+            this.toleranceNanos = Math.multiplyExact(intervalNanos, (long) limit.getBurst());
+        }
+    }
+
+    public record Rules(Rule global, Rule perClient, Rule perCustomer) {
+    }
+
+    public record Grant(Rule rule, String key) {
+    }
+
+    final Map<String, Rules> byEndpoint = new HashMap<>();
+    final Map<String, Rules> byRoute = new HashMap<>();
+    final List<Rule> all = new ArrayList<>();
+    final long idleTimeoutNanos;
+    final MeterRegistry meterRegistry;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        this.meterRegistry = meterRegistry;
+        if (properties.isEnabled()) {
+            properties.getEndpoints().forEach((name, endpoint) -> {
+                Rules rules = rules(name, endpoint);
+                byEndpoint.put(name, rules);
+                if (endpoint.getMethod() != null && endpoint.getPath() != null) {
+                    byRoute.put(endpoint.getMethod() + " " + endpoint.getPath(), rules);
+                }
+            });
+        }
+        Gauge.builder("boardcamp.rate-limit.buckets", this, RateLimiter::getBucketCount)
+            .description("Token buckets currently tracked by the rate limiter")
+            .register(meterRegistry);
+    }
+
+    public Rules forRoute(String method, String path) {
+        return byRoute.isEmpty() ? null : byRoute.get(method + " " + path);
+    }
+
+    // Called by controllers once the customer id is known from the request. A refused
+    // request gives back the per-client and global tokens RateLimitFilter took for it.
+    public void acquireForCustomer(String endpoint, Long customerId) {
+        Rules rules = byEndpoint.get(endpoint);
+        if (rules == null || rules.perCustomer() == null || customerId == null) {
+            return;
+        }
+        long wait = tryAcquire(rules.perCustomer(), customerId.toString(), System.nanoTime());
+        if (wait > 0) {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes != null && attributes.getAttribute(GRANTED, RequestAttributes.SCOPE_REQUEST) instanceof List<?> granted) {
+                attributes.removeAttribute(GRANTED, RequestAttributes.SCOPE_REQUEST);
+                giveBack(granted);
+            }
+            throw new RateLimitExceededException("Too many requests for this customer.", Duration.ofNanos(wait));
+        }
+    }
+
+    // Takes a token from the bucket of key under rule, returning 0 when it was taken
+    // or else the nanoseconds until one will be available.
+    public long tryAcquire(Rule rule, String key, long now) {
+        AtomicLong bucket = rule.buckets.get(key);
+        if (bucket == null) {
+            bucket = rule.buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + rule.intervalNanos;
+            long wait = next - now - rule.toleranceNanos;
+            if (wait > 0) {
+                rejected(rule);
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Moves each bucket's arrival time back by one interval. A bucket that has filled
+    // up in the meantime stays full, since tryAcquire never looks before now.
+    public void giveBack(List<?> granted) {
+        for (Object token : granted) {
+            if (token instanceof Grant grant) {
+                AtomicLong bucket = grant.rule().buckets.get(grant.key());
+                if (bucket != null) {
+                    bucket.addAndGet(-grant.rule().intervalNanos);
+                }
+            }
+        }
+    }
+
+    @Scheduled(
+        fixedDelayString = "${boardcamp.rate-limit.idle-timeout:PT10M}",
+        initialDelayString = "${boardcamp.rate-limit.idle-timeout:PT10M}")
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    public int evictIdle(long now) {
+        int evicted = 0;
+        for (Rule rule : all) {
+            int before = rule.buckets.size();
+            rule.buckets.values().removeIf(bucket -> now - bucket.get() > idleTimeoutNanos);
+            evicted += before - rule.buckets.size();
+        }
+        return evicted;
+    }
+
+    public int getBucketCount() {
+        return all.stream().mapToInt(rule -> rule.buckets.size()).sum();
+    }
+
+    private void rejected(Rule rule) {
+        Counter.builder("boardcamp.rate-limit.rejected")
+            .description("Requests turned away with 429 by the rate limiter")
+            .tag("endpoint", rule.endpoint)
+            .tag("scope", rule.scope)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private Rules rules(String name, Endpoint endpoint) {
+        return new Rules(
+            rule(name, GLOBAL, endpoint.getGlobal()),
+            rule(name, CLIENT, endpoint.getPerClient()),
+            rule(name, CUSTOMER, endpoint.getPerCustomer()));
+    }
+
+    private Rule rule(String name, String scope, Limit limit) {
+        if (limit == null) {
+            return null;
+        }
+        Rule rule = new Rule(name, scope, limit);
+        all.add(rule);
+        return rule;
+    }
+}
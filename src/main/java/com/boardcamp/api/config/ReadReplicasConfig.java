@@ -0,0 +1,94 @@
+package com.boardcamp.api.config;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Enabled by listing replicas under boardcamp.datasource.replicas[n].url (profile
+// "replicas"). The application DataSource becomes a lazy proxy over the primary
+// pool: Spring marks the connection of a read-only transaction (Spring Data's find
+// methods, @Transactional(readOnly = true)) as read-only before any statement runs,
+// and the proxy then fetches the physical connection from ReplicaRoutingDataSource
+// instead. Every other transaction, and so every write, uses the primary.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty("boardcamp.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReadReplicasConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Replica pools copy the primary's size and timeouts.
+    @Bean(defaultCandidate = false)
+    ReplicaRoutingDataSource replicaRoutingDataSource(
+                    @Qualifier("primaryDataSource") DataSource primaryDataSource,
+                    DataSourceProperties primaryProperties,
+                    ReplicaDataSourceProperties properties) throws SQLException {
+        HikariDataSource primaryPool = primaryDataSource.unwrap(HikariDataSource.class);
+        List<DataSource> replicas = properties.getReplicas().stream()
+            .map(replica -> {
+                HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(primaryProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() == null ? primaryProperties.determineUsername() : replica.getUsername())
+                    .password(replica.getPassword() == null ? primaryProperties.determinePassword() : replica.getPassword())
+                    .build();
+                pool.setPoolName("replica-" + properties.getReplicas().indexOf(replica));
+                pool.setMaximumPoolSize(primaryPool.getMaximumPoolSize());
+                pool.setConnectionTimeout(primaryPool.getConnectionTimeout());
+                return (DataSource) pool;
+            })
+            .toList();
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("replicaRoutingDataSource") ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaRoutingDataSource.getPrimary());
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaDataSourceProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+            new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.getReadYourWritesWindow()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    MeterBinder replicaMetrics(@Qualifier("replicaRoutingDataSource") ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return registry -> Gauge
+            .builder("boardcamp.datasource.replicas.healthy", replicaRoutingDataSource, ReplicaRoutingDataSource::getHealthyReplicaCount)
+            .description("Replicas currently taking read-only transactions")
+            .register(registry);
+    }
+}
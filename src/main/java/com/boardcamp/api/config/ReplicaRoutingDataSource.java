@@ -0,0 +1,147 @@
+package com.boardcamp.api.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Target for read-only connections (see ReadReplicasConfig). Hands out a connection
+// from the next healthy replica in round-robin order, but only to threads that were
+// explicitly allowed to read from a replica; everything else, including startup and
+// scheduled jobs that rebuild in-memory state, reads from the primary. A replica that
+// fails to hand out a connection is taken out of rotation until a health check
+// succeeds again, and callers fall back to the primary in the meantime.
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+    private static final ThreadLocal<Boolean> replicaReadsAllowed = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+    }
+
+    public static void allowReplicaReads() {
+        replicaReadsAllowed.set(Boolean.TRUE);
+    }
+
+    public static void clearReplicaReads() {
+        replicaReadsAllowed.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = replicaReadsAllowed.get() == null ? null : nextHealthyReplica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException | RuntimeException exception) {
+            replica.markDown(exception);
+            return primary.getConnection();
+        }
+    }
+
+    // Hikari pools reject per-call credentials the same way, so callers that probe for
+    // this (as JDBC allows) get the checked exception they expect.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica routing uses the pools' own credentials");
+    }
+
+    @Scheduled(
+        fixedDelayString = "${boardcamp.datasource.health-check-interval:PT5S}",
+        initialDelayString = "${boardcamp.datasource.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(new SQLException("Connection is not valid"));
+                }
+            } catch (SQLException | RuntimeException exception) {
+                replica.markDown(exception);
+            }
+        }
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        // Pooled connections to a failed replica are likely dead too; evicting them
+        // makes the next health check open a fresh one.
+        void markDown(Exception exception) {
+            if (healthy) {
+                logger.warn("Replica {} is unavailable, reading from the primary: {}", dataSource, exception.getMessage());
+            }
+            healthy = false;
+            if (dataSource instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+                hikari.getHikariPoolMXBean().softEvictConnections();
+            }
+        }
+
+        void markUp() {
+            if (!healthy) {
+                logger.info("Replica {} is back in rotation", dataSource);
+            }
+            healthy = true;
+        }
+    }
+}
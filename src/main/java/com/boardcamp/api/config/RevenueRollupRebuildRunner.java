@@ -0,0 +1,43 @@
+package com.boardcamp.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.boardcamp.api.services.RevenueRollupService;
+
+// Backfill command for the revenue rollups:
+//   java -jar boardcamp.jar --rebuild-rollups --spring.main.web-application-type=none
+// rebuilds them and exits; alongside a web server the rebuild runs once at startup.
+@Component
+public class RevenueRollupRebuildRunner implements ApplicationRunner {
+
+    static final String OPTION = "rebuild-rollups";
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueRollupRebuildRunner.class);
+
+    final RevenueRollupService revenueRollupService;
+    final ConfigurableApplicationContext context;
+    RevenueRollupRebuildRunner(RevenueRollupService revenueRollupService, ConfigurableApplicationContext context) {
+        this.revenueRollupService = revenueRollupService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+
+        int[] rows = revenueRollupService.rebuild();
+        logger.info("Rebuilt revenue rollups: {} game-day rows, {} customer-day rows.", rows[0], rows[1]);
+        if (!(context instanceof WebServerApplicationContext)) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.boardcamp.api.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// With spring.threads.virtual.enabled=true (profile "virtual-threads") Tomcat runs
+// every request on its own virtual thread, so request concurrency is no longer
+// bounded by the worker pool. The Hikari pool is fenced by a bulkhead of the same
+// size to keep the excess queued in one fair, observable place.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    static BeanPostProcessor dataSourceBulkhead() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new BulkheadDataSource(hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder dataSourceBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof BulkheadDataSource bulkhead)) {
+                return;
+            }
+            Gauge.builder("boardcamp.datasource.bulkhead.available", bulkhead, BulkheadDataSource::getAvailablePermits)
+                .description("Connections that can still be checked out without waiting")
+                .register(registry);
+            Gauge.builder("boardcamp.datasource.bulkhead.queued", bulkhead, BulkheadDataSource::getQueueLength)
+                .description("Threads waiting for a database connection")
+                .register(registry);
+        };
+    }
+}
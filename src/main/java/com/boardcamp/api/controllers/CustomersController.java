@@ -1,49 +1,109 @@
 package com.boardcamp.api.controllers;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.boardcamp.api.dtos.CustomersDTO;
+import com.boardcamp.api.dtos.CustomersFilterDTO;
+import com.boardcamp.api.dtos.CustomersPageDTO;
+import com.boardcamp.api.dtos.ImportReportDTO;
 import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.services.CatalogImportService;
 import com.boardcamp.api.services.CustomersService;
+import com.boardcamp.api.services.IdempotencyService;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/customers")
 public class CustomersController {
+
+    static final int MAX_CUSTOMER_BODIES = 10_000;
     
     final CustomersService customersService;
-    CustomersController(CustomersService customersService) {
+    final CatalogImportService catalogImportService;
+    final NdjsonResponses ndjsonResponses;
+    final PrecomputedResponses precomputedResponses;
+    final PrecomputedResponses.Bodies<Long> customerBodies;
+    final IdempotencyService idempotencyService;
+    CustomersController(
+                    CustomersService customersService,
+                    CatalogImportService catalogImportService,
+                    NdjsonResponses ndjsonResponses,
+                    PrecomputedResponses precomputedResponses,
+                    IdempotencyService idempotencyService) {
         this.customersService = customersService;
+        this.catalogImportService = catalogImportService;
+        this.ndjsonResponses = ndjsonResponses;
+        this.precomputedResponses = precomputedResponses;
+        this.customerBodies = precomputedResponses.bodies(MAX_CUSTOMER_BODIES);
+        this.idempotencyService = idempotencyService;
     }
 
     @GetMapping
-    public ResponseEntity<Object> getCustomers() {
-        return ResponseEntity.status(HttpStatus.OK).body(customersService.getCustomers());
+    public ResponseEntity<Object> getCustomers(@Valid CustomersFilterDTO filter) {
+        if (!filter.isSearch()) {
+            return ResponseEntity.status(HttpStatus.OK).body(customersService.getCustomers());
+        }
+
+        CustomersPageDTO page = customersService.searchCustomers(filter);
+        if (page.getNextCursor() == null) {
+            return ResponseEntity.status(HttpStatus.OK).body(page.getCustomers());
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+            .header(RentalsController.NEXT_CURSOR_HEADER, page.getNextCursor().toString())
+            .body(page.getCustomers());
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCustomers() {
+        return ndjsonResponses.of(customersService::streamCustomers);
+    }
+
+    // Customers cannot be changed once created, so their bodies are kept by id alone.
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getCustomersById(@PathVariable("id") Long id){
-        Optional<CustomersModel> customer = customersService.getCustomersById(id);
+    public ResponseEntity<?> getCustomersById(@PathVariable("id") Long id, @RequestHeader HttpHeaders headers) {
+        PrecomputedResponses.Body body = customerBodies.body(
+            id, 0, () -> customersService.getCustomersById(id).orElse(null));
 
-        if (!customer.isPresent()) {
+        if (body == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Item not found");
         } else {
-            return ResponseEntity.status(HttpStatus.OK).body(customer.get());
+            return precomputedResponses.of(body, headers);
         }
     }
 
     @PostMapping
-    public ResponseEntity<Object> postCustomers(@RequestBody @Valid CustomersDTO body) {
+    public ResponseEntity<?> postCustomers(
+                    @RequestBody @Valid CustomersDTO body,
+                    @RequestHeader(name = IdempotencyService.HEADER, required = false) @Size(max = 255) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createCustomer(body);
+        }
+        return idempotencyService.execute("POST /customers", idempotencyKey, body, () -> createCustomer(body));
+    }
+
+    private ResponseEntity<?> createCustomer(CustomersDTO body) {
         Optional<CustomersModel> customer = customersService.postCustomers(body);
 
         if (!customer.isPresent()) {
@@ -51,6 +111,15 @@ public class CustomersController {
         }
         return ResponseEntity.status(HttpStatus.CREATED).body(customer.get());
     }
-}
 
-        
\ No newline at end of file
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReportDTO> importCustomersCsv(InputStream body) {
+        ImportReportDTO report = catalogImportService.importCustomersCsv(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportReportDTO> importCustomersJson(@RequestBody List<CustomersDTO> body) {
+        return ResponseEntity.status(HttpStatus.OK).body(catalogImportService.importCustomers(body));
+    }
+}
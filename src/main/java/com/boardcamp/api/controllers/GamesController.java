@@ -1,35 +1,78 @@
 package com.boardcamp.api.controllers;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.boardcamp.api.dtos.GamesDTO;
+import com.boardcamp.api.dtos.ImportReportDTO;
 import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.services.CatalogImportService;
 import com.boardcamp.api.services.GamesService;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/games")
 public class GamesController {
 
+    static final String CATALOG_BODY = "games";
+
     final GamesService gamesService;
-    GamesController(GamesService gamesService) {
+    final CatalogImportService catalogImportService;
+    final NdjsonResponses ndjsonResponses;
+    final PrecomputedResponses precomputedResponses;
+    GamesController(
+                    GamesService gamesService,
+                    CatalogImportService catalogImportService,
+                    NdjsonResponses ndjsonResponses,
+                    PrecomputedResponses precomputedResponses) {
         this.gamesService = gamesService;
+        this.catalogImportService = catalogImportService;
+        this.ndjsonResponses = ndjsonResponses;
+        this.precomputedResponses = precomputedResponses;
     }
 
     @GetMapping
-    public ResponseEntity<Object> getGames() {
-        return ResponseEntity.status(HttpStatus.OK).body(gamesService.getGames());
+    public ResponseEntity<byte[]> getGames(@RequestHeader HttpHeaders headers) {
+        PrecomputedResponses.Body body = precomputedResponses.body(
+            CATALOG_BODY, gamesService.getCatalogVersion(), gamesService::loadCatalog);
+        return precomputedResponses.of(body, headers);
+    }
+
+    @GetMapping(params = "name")
+    public ResponseEntity<List<GamesModel>> searchGames(
+                    @RequestParam @NotBlank String name,
+                    @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(gamesService.searchGames(name, limit));
     }
     
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamGames() {
+        return ndjsonResponses.of(gamesService::streamGames);
+    }
+
     @PostMapping
     public ResponseEntity<Object> postGames(@RequestBody @Valid GamesDTO body) {
         GamesModel item = gamesService.postGames(body);
@@ -37,4 +80,14 @@ public class GamesController {
         return ResponseEntity.status(HttpStatus.CREATED).body(item);
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReportDTO> importGamesCsv(InputStream body) {
+        ImportReportDTO report = catalogImportService.importGamesCsv(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportReportDTO> importGamesJson(@RequestBody List<GamesDTO> body) {
+        return ResponseEntity.status(HttpStatus.OK).body(catalogImportService.importGames(body));
+    }
 }
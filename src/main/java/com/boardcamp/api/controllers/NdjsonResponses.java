@@ -0,0 +1,51 @@
+package com.boardcamp.api.controllers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+@Component
+public class NdjsonResponses {
+
+    final ObjectMapper objectMapper;
+    final ObjectWriter rowWriter;
+    NdjsonResponses(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // The producer pushes rows one at a time; each is written as a single JSON
+    // line straight to the response, so nothing is buffered beyond the generator.
+    public <T> ResponseEntity<StreamingResponseBody> of(Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                producer.accept(item -> write(generator, item));
+            }
+        };
+
+        return ResponseEntity.status(HttpStatus.OK)
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    private void write(JsonGenerator generator, Object item) {
+        try {
+            rowWriter.writeValue(generator, item);
+            generator.writeRaw('\n');
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
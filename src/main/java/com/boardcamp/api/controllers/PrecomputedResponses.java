@@ -0,0 +1,166 @@
+package com.boardcamp.api.controllers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Read-mostly responses kept as ready-to-send bytes: the JSON, its gzipped copy
+// and an ETag hashed from the JSON. A body is rebuilt only when the version its
+// caller passes in moves, so a matching If-None-Match is answered with 304 and a
+// changed-nothing GET with the stored bytes, both without touching the database.
+// Catalog-wide bodies share a small cache here; callers with many keys, such as
+// customers by id, create their own bounded Bodies so they cannot evict the catalog.
+@Component
+public class PrecomputedResponses {
+
+    static final int MAX_SHARED_BODIES = 100;
+    static final String GZIP = "gzip";
+
+    final ObjectMapper objectMapper;
+    final Bodies<String> shared;
+    PrecomputedResponses(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.shared = bodies(MAX_SHARED_BODIES);
+    }
+
+    public record Body(long version, String etag, byte[] json, byte[] gzip) {
+    }
+
+    // Versions only move forward, so of two bodies built for the same key the
+    // one with the higher version is kept.
+    public final class Bodies<K> {
+
+        final Map<K, Body> bodies;
+
+        Bodies(long maximumSize) {
+            this.bodies = Caffeine.newBuilder().maximumSize(maximumSize).<K, Body>build().asMap();
+        }
+
+        // The supplier runs outside the map's locks, so a slow query never blocks
+        // writers of other keys; concurrent misses on one key may each build a body.
+        // A supplier returning null (nothing to show) leaves no entry behind.
+        public Body body(K key, long version, Supplier<?> value) {
+            Body body = bodies.get(key);
+            if (body != null && body.version() == version) {
+                return body;
+            }
+            Object content = value.get();
+            if (content == null) {
+                if (body != null) {
+                    bodies.remove(key, body);
+                }
+                return null;
+            }
+            return bodies.merge(key, serialize(version, content),
+                (current, built) -> current.version() >= built.version() ? current : built);
+        }
+    }
+
+    public <K> Bodies<K> bodies(long maximumSize) {
+        return new Bodies<>(maximumSize);
+    }
+
+    public Body body(String key, long version, Supplier<?> value) {
+        return shared.body(key, version, value);
+    }
+
+    public ResponseEntity<byte[]> of(Body body, HttpHeaders request) {
+        boolean gzip = acceptsGzip(request) && body.gzip().length < body.json().length;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(gzip ? gzipTag(body.etag()) : body.etag());
+        headers.setCacheControl(CacheControl.noCache());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        if (matches(request.getIfNoneMatch(), body.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return ResponseEntity.status(HttpStatus.OK).headers(headers).body(gzip ? body.gzip() : body.json());
+    }
+
+    public Body serialize(long version, Object content) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(content);
+            return new Body(version, etag(json), json, gzip(json));
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    // Either encoding of the same JSON revalidates the other: the gzip tag is the
+    // identity tag with a suffix, and the suffix is ignored when matching.
+    static boolean matches(Iterable<String> ifNoneMatch, String etag) {
+        String tag = unquote(etag);
+        for (String candidate : ifNoneMatch) {
+            String value = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            value = unquote(value);
+            if (value.equals("*") || value.equals(tag) || value.equals(tag + "-" + GZIP)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(HttpHeaders request) {
+        for (String value : request.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase(GZIP)
+                        && (parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String gzipTag(String etag) {
+        return "\"" + unquote(etag) + "-" + GZIP + "\"";
+    }
+
+    private static String unquote(String etag) {
+        return etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")
+            ? etag.substring(1, etag.length() - 1)
+            : etag;
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.boardcamp.api.controllers;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.boardcamp.api.dtos.CustomersDTO;
+import com.boardcamp.api.dtos.CustomersFilterDTO;
+import com.boardcamp.api.exceptions.CustomersIdConflictException;
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.services.ReactiveCustomersService;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequestMapping("/customers")
+public class ReactiveCustomersController {
+
+    final ReactiveCustomersService customersService;
+    ReactiveCustomersController(ReactiveCustomersService customersService) {
+        this.customersService = customersService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getCustomers(@Valid CustomersFilterDTO filter) {
+        if (!filter.isSearch()) {
+            return customersService.getCustomers().collectList()
+                .map(customers -> ResponseEntity.status(HttpStatus.OK).body(customers));
+        }
+
+        return customersService.searchCustomers(filter).map(page -> {
+            if (page.getNextCursor() == null) {
+                return ResponseEntity.status(HttpStatus.OK).body(page.getCustomers());
+            }
+            return ResponseEntity.status(HttpStatus.OK)
+                .header(RentalsController.NEXT_CURSOR_HEADER, page.getNextCursor().toString())
+                .body(page.getCustomers());
+        });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getCustomersById(@PathVariable("id") Long id) {
+        return customersService.getCustomersById(id)
+            .<ResponseEntity<Object>>map(customer -> ResponseEntity.status(HttpStatus.OK).body(customer))
+            .onErrorResume(CustomersIdConflictException.class,
+                exception -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Item not found")));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<CustomersModel>> postCustomers(@RequestBody @Valid CustomersDTO body) {
+        return customersService.postCustomers(body)
+            .map(customer -> ResponseEntity.status(HttpStatus.CREATED).body(customer));
+    }
+}
@@ -0,0 +1,54 @@
+package com.boardcamp.api.controllers;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.boardcamp.api.dtos.GamesDTO;
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.services.ReactiveGamesService;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequestMapping("/games")
+public class ReactiveGamesController {
+
+    final ReactiveGamesService gamesService;
+    ReactiveGamesController(ReactiveGamesService gamesService) {
+        this.gamesService = gamesService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<GamesModel>>> getGames() {
+        return gamesService.getGames().collectList()
+            .map(games -> ResponseEntity.status(HttpStatus.OK).body(games));
+    }
+
+    @GetMapping(params = "name")
+    public ResponseEntity<List<GamesModel>> searchGames(
+                    @RequestParam @NotBlank String name,
+                    @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(gamesService.searchGames(name, limit));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<GamesModel>> postGames(@RequestBody @Valid GamesDTO body) {
+        return gamesService.postGames(body)
+            .map(item -> ResponseEntity.status(HttpStatus.CREATED).body(item));
+    }
+}
@@ -0,0 +1,69 @@
+package com.boardcamp.api.controllers;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.boardcamp.api.dtos.RentalsDTO;
+import com.boardcamp.api.dtos.RentalsFilterDTO;
+import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.services.ReactiveRentalsService;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequestMapping("/rentals")
+public class ReactiveRentalsController {
+
+    final ReactiveRentalsService rentalsService;
+    ReactiveRentalsController(ReactiveRentalsService rentalsService) {
+        this.rentalsService = rentalsService;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<RentalsModel>>> getRentals(@Valid RentalsFilterDTO filter) {
+        return rentalsService.getRentals(filter).map(page -> {
+            if (page.getNextCursor() == null) {
+                return ResponseEntity.status(200).body(page.getRentals());
+            }
+            return ResponseEntity.status(200)
+                .header(RentalsController.NEXT_CURSOR_HEADER, page.getNextCursor().toString())
+                .body(page.getRentals());
+        });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<RentalsModel>> getRentalsById(@PathVariable("id") Long id) {
+        return rentalsService.getRentalsById(id)
+            .map(rental -> ResponseEntity.status(200).body(rental));
+    }
+
+    @PostMapping("/{id}/return")
+    public Mono<ResponseEntity<RentalsModel>> updateRentals(@PathVariable("id") Long id) {
+        return rentalsService.updateRentals(id)
+            .map(rental -> ResponseEntity.status(200).body(rental));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<RentalsModel>> postRentals(@RequestBody @Valid RentalsDTO body) {
+        return rentalsService.postRentals(body)
+            .map(rental -> ResponseEntity.status(201).body(rental));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteRentals(@PathVariable("id") Long id) {
+        return rentalsService.deleteRentals(id)
+            .then(Mono.just(ResponseEntity.status(204).<Void>build()));
+    }
+}
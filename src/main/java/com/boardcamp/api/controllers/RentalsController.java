@@ -1,8 +1,13 @@
 package com.boardcamp.api.controllers;
 
+import java.util.List;
 import java.util.Optional;
 import java.time.LocalDate;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,38 +15,112 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.boardcamp.api.config.RateLimiter;
+import com.boardcamp.api.dtos.OverdueRentalsDTO;
+import com.boardcamp.api.dtos.RentalsBatchResultDTO;
 import com.boardcamp.api.dtos.RentalsDTO;
+import com.boardcamp.api.dtos.RentalsFilterDTO;
+import com.boardcamp.api.dtos.RentalsPageDTO;
+import com.boardcamp.api.dtos.RentalsReturnResultDTO;
 import com.boardcamp.api.exceptions.RentalsIdConflictException;
 import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.services.IdempotencyService;
+import com.boardcamp.api.services.OverdueRentalsService;
+import com.boardcamp.api.services.RentalsBatchService;
 import com.boardcamp.api.services.RentalsService;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/rentals")
 public class RentalsController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    // Names of the rentals endpoints under boardcamp.rate-limit.endpoints.
+    static final String LIST_ENDPOINT = "rentals-list";
+    static final String CREATE_ENDPOINT = "rentals-create";
     
     final RentalsService rentalsService;
-    RentalsController(RentalsService rentalsService) {
+    final RentalsBatchService rentalsBatchService;
+    final OverdueRentalsService overdueRentalsService;
+    final NdjsonResponses ndjsonResponses;
+    final PrecomputedResponses precomputedResponses;
+    final ReturnedRentalsCache returnedRentalsCache;
+    final IdempotencyService idempotencyService;
+    final RateLimiter rateLimiter;
+    RentalsController(
+                    RentalsService rentalsService,
+                    RentalsBatchService rentalsBatchService,
+                    OverdueRentalsService overdueRentalsService,
+                    NdjsonResponses ndjsonResponses,
+                    PrecomputedResponses precomputedResponses,
+                    ReturnedRentalsCache returnedRentalsCache,
+                    IdempotencyService idempotencyService,
+                    RateLimiter rateLimiter) {
         this.rentalsService = rentalsService;
+        this.rentalsBatchService = rentalsBatchService;
+        this.overdueRentalsService = overdueRentalsService;
+        this.ndjsonResponses = ndjsonResponses;
+        this.precomputedResponses = precomputedResponses;
+        this.returnedRentalsCache = returnedRentalsCache;
+        this.idempotencyService = idempotencyService;
+        this.rateLimiter = rateLimiter;
     }
 
     @GetMapping
-    public ResponseEntity<Object> getRentals() {
-        return ResponseEntity.status(200).body(rentalsService.getRentals());
+    public ResponseEntity<Object> getRentals(@Valid RentalsFilterDTO filter) {
+        rateLimiter.acquireForCustomer(LIST_ENDPOINT, filter.getCustomerId());
+        RentalsPageDTO page = rentalsService.getRentals(filter);
+
+        if (page.getNextCursor() == null) {
+            return ResponseEntity.status(200).body(page.getRentals());
+        }
+        return ResponseEntity.status(200)
+            .header(NEXT_CURSOR_HEADER, page.getNextCursor().toString())
+            .body(page.getRentals());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRentals() {
+        return ndjsonResponses.of(rentalsService::streamRentals);
     }
 
+    @GetMapping("/overdue")
+    public ResponseEntity<OverdueRentalsDTO> getOverdueRentals(
+                    @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.status(200).body(overdueRentalsService.getOverdueRentals(limit));
+    }
+
+    // Returned rentals are served from ReturnedRentalsCache; open ones are read
+    // from the database on every call, as they still change.
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getRentalsById(@PathVariable("id") Long id) {
+    public ResponseEntity<?> getRentalsById(@PathVariable("id") Long id, @RequestHeader HttpHeaders headers) {
+        PrecomputedResponses.Body cached = returnedRentalsCache.get(id);
+        if (cached != null) {
+            return precomputedResponses.of(cached, headers);
+        }
+
         Optional<RentalsModel> rental = rentalsService.getRentalsById(id);
 
         if (!rental.isPresent()) {
             throw new RentalsIdConflictException("Rental ID does not exist.");
         }
-            
+
+        PrecomputedResponses.Body body = returnedRentalsCache.put(rental.get());
+        if (body != null) {
+            return precomputedResponses.of(body, headers);
+        }
         return ResponseEntity.status(200).body(rental.get());
     
     }  
@@ -49,6 +128,7 @@ public class RentalsController {
     @PostMapping("/{id}/return")
     public ResponseEntity<RentalsModel> updateRentals(@PathVariable("id") Long id) {
         RentalsModel rental = rentalsService.updateRentals(id);
+        returnedRentalsCache.put(rental);
         // if (!rental.isPresent()) {
         //     return ResponseEntity.status(404).body("Item not found");
         // } 
@@ -58,14 +138,39 @@ public class RentalsController {
 
 
     @PostMapping
-    public ResponseEntity<Object> postRentals(@RequestBody @Valid RentalsDTO body) {
+    public ResponseEntity<?> postRentals(
+                    @RequestBody @Valid RentalsDTO body,
+                    @RequestHeader(name = IdempotencyService.HEADER, required = false) @Size(max = 255) String idempotencyKey) {
+        rateLimiter.acquireForCustomer(CREATE_ENDPOINT, body.getCustomerId());
+        if (idempotencyKey == null) {
+            return createRental(body);
+        }
+        return idempotencyService.execute("POST /rentals", idempotencyKey, body, () -> createRental(body));
+    }
+
+    private ResponseEntity<?> createRental(RentalsDTO body) {
         RentalsModel rental = rentalsService.postRentals(body);
         return ResponseEntity.status(201).body(rental);
     }
 
+    @PostMapping("/return")
+    public ResponseEntity<RentalsReturnResultDTO> returnRentals(
+                    @RequestBody @NotEmpty @Size(max = 1000) List<Long> ids) {
+        RentalsReturnResultDTO result = rentalsService.returnRentals(ids);
+        result.getReturned().forEach(returnedRentalsCache::put);
+        return ResponseEntity.status(200).body(result);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<RentalsBatchResultDTO>> postRentalsBatch(
+                    @RequestBody @NotEmpty @Size(max = 500) List<RentalsDTO> body) {
+        return ResponseEntity.status(200).body(rentalsBatchService.postRentalsBatch(body));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<RentalsModel> deleteRentals(@PathVariable("id") Long id) {
         rentalsService.deleteRentals(id);
+        returnedRentalsCache.evict(id);
         return ResponseEntity.status(204).build();
         
     }
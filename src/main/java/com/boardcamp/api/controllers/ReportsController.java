@@ -0,0 +1,58 @@
+package com.boardcamp.api.controllers;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.boardcamp.api.dtos.UtilizationReportDTO;
+import com.boardcamp.api.services.ReportsService;
+
+import jakarta.validation.constraints.Pattern;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@RequestMapping("/reports")
+public class ReportsController {
+
+    static final int MAX_RANGE_DAYS = 366;
+
+    final ReportsService reportsService;
+    ReportsController(ReportsService reportsService) {
+        this.reportsService = reportsService;
+    }
+
+    @GetMapping("/revenue")
+    public ResponseEntity<List<?>> getRevenue(
+                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                    @RequestParam(defaultValue = "game") @Pattern(regexp = "game|customer") String by) {
+        checkRange(from, to);
+        return ResponseEntity.status(200).body(reportsService.getRevenue(from, to, by));
+    }
+
+    @GetMapping("/utilization")
+    public ResponseEntity<List<UtilizationReportDTO>> getUtilization(
+                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        checkRange(from, to);
+        return ResponseEntity.status(200).body(reportsService.getUtilization(from, to));
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Report range must run forward and span at most " + MAX_RANGE_DAYS + " days.");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.boardcamp.api.controllers;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.boardcamp.api.models.RentalsModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Response bodies of returned rentals for GET /rentals/{id}. A returned rental
+// never changes again, so entries have no TTL and are only dropped when the rental
+// is deleted or the byte budget pushes them out. Open rentals are never stored.
+// Deleted ids leave a tombstone that put checks under the entry's lock, so a GET
+// that read the rental just before a DELETE cannot write it back afterwards.
+@Component
+public class ReturnedRentalsCache {
+
+    // Rough per-entry cost of the key, the Body record and the cache node.
+    static final int ENTRY_OVERHEAD = 128;
+    // Far longer than any GET takes between reading the row and calling put.
+    static final Duration TOMBSTONE_TTL = Duration.ofMinutes(10);
+    static final int MAX_TOMBSTONES = 100_000;
+
+    final PrecomputedResponses precomputedResponses;
+    final Cache<Long, PrecomputedResponses.Body> bodies;
+    final Cache<Long, Boolean> deleted = Caffeine.newBuilder()
+        .maximumSize(MAX_TOMBSTONES)
+        .expireAfterWrite(TOMBSTONE_TTL)
+        .build();
+    ReturnedRentalsCache(
+                    PrecomputedResponses precomputedResponses,
+                    MeterRegistry meterRegistry,
+                    @Value("${boardcamp.rentals.returned-cache.max-size:64MB}") DataSize maxSize) {
+        this.precomputedResponses = precomputedResponses;
+        this.bodies = Caffeine.newBuilder()
+            .maximumWeight(maxSize.toBytes())
+            .<Long, PrecomputedResponses.Body>weigher((id, body) -> ENTRY_OVERHEAD + body.json().length + body.gzip().length)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "returnedRentals");
+    }
+
+    public PrecomputedResponses.Body get(Long id) {
+        return bodies.getIfPresent(id);
+    }
+
+    // Returns the body to send, or null for an open rental, which is not cached.
+    public PrecomputedResponses.Body put(RentalsModel rental) {
+        if (rental.getReturnDate() == null) {
+            return null;
+        }
+        PrecomputedResponses.Body body = precomputedResponses.serialize(0, rental);
+        bodies.asMap().compute(rental.getId(), (id, current) -> deleted.getIfPresent(id) != null ? null : body);
+        return body;
+    }
+
+    public void evict(Long id) {
+        deleted.put(id, Boolean.TRUE);
+        bodies.invalidate(id);
+    }
+
+    public long getWeightedSize() {
+        return bodies.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+}
@@ -0,0 +1,38 @@
+package com.boardcamp.api.dtos;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomersFilterDTO {
+
+    @Size(min = 1, max = 11)
+    private String cpf;
+
+    // A blank name would match every customer through an empty word prefix.
+    @Size(min = 1, max = 100)
+    @Pattern(regexp = "(?s).*\\S.*")
+    private String name;
+
+    @Size(min = 1, max = 11)
+    private String phone;
+
+    @Min(0)
+    private Long after;
+
+    @Min(1)
+    @Max(100)
+    private Integer limit;
+
+    // Without any of these parameters GET /customers keeps returning every customer.
+    public boolean isSearch() {
+        return cpf != null || name != null || phone != null || after != null || limit != null;
+    }
+}
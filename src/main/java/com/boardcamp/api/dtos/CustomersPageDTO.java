@@ -0,0 +1,16 @@
+package com.boardcamp.api.dtos;
+
+import java.util.List;
+
+import com.boardcamp.api.models.CustomersModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CustomersPageDTO {
+    private List<CustomersModel> customers;
+
+    private Long nextCursor;
+}
@@ -0,0 +1,14 @@
+package com.boardcamp.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRejectionDTO {
+    private Integer row;
+
+    private String reason;
+}
@@ -0,0 +1,24 @@
+package com.boardcamp.api.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReportDTO {
+    private Integer received;
+
+    private Integer imported;
+
+    private Integer rejected;
+
+    private Long elapsedMillis;
+
+    private Double rowsPerSecond;
+
+    private List<ImportRejectionDTO> rejections;
+}
@@ -0,0 +1,25 @@
+package com.boardcamp.api.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.boardcamp.api.models.RentalsModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class OverdueRentalsDTO {
+
+    private LocalDate asOf;
+
+    private long overdueRentals;
+
+    // Fees added per day while the current overdue rentals stay out.
+    private long dailyAccrual;
+
+    private long accruedFees;
+
+    private List<RentalsModel> rentals;
+}
@@ -0,0 +1,30 @@
+package com.boardcamp.api.dtos;
+
+import com.boardcamp.api.models.RentalsModel;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RentalsBatchResultDTO {
+    private Integer index;
+
+    private Integer status;
+
+    private RentalsModel rental;
+
+    private String error;
+
+    public static RentalsBatchResultDTO created(int index, RentalsModel rental) {
+        return new RentalsBatchResultDTO(index, 201, rental, null);
+    }
+
+    public static RentalsBatchResultDTO failed(int index, int status, String error) {
+        return new RentalsBatchResultDTO(index, status, null, error);
+    }
+}
@@ -0,0 +1,28 @@
+package com.boardcamp.api.dtos;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RentalsFilterDTO {
+
+    @Min(0)
+    private Long after;
+
+    @Min(1)
+    @Max(1000)
+    private Integer limit = 100;
+
+    private Long customerId;
+
+    private Long gameId;
+
+    @Pattern(regexp = "open|returned")
+    private String status;
+}
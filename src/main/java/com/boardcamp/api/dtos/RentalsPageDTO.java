@@ -0,0 +1,16 @@
+package com.boardcamp.api.dtos;
+
+import java.util.List;
+
+import com.boardcamp.api.models.RentalsModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RentalsPageDTO {
+    private List<RentalsModel> rentals;
+
+    private Long nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.boardcamp.api.dtos;
+
+import java.util.List;
+
+import com.boardcamp.api.models.RentalsModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RentalsReturnResultDTO {
+    private List<RentalsModel> returned;
+
+    private List<Long> alreadyReturned;
+
+    private List<Long> notFound;
+}
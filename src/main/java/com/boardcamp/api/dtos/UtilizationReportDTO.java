@@ -0,0 +1,39 @@
+package com.boardcamp.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UtilizationReportDTO {
+
+    private Long gameId;
+
+    private String name;
+
+    private Integer stockTotal;
+
+    private long rentals;
+
+    private long returned;
+
+    private long daysRented;
+
+    private long revenue;
+
+    // Copy-days booked by rentals started in the range, over the copy-days in stock.
+    private double utilization;
+
+    public UtilizationReportDTO(
+                    Long gameId,
+                    String name,
+                    Integer stockTotal,
+                    Long rentals,
+                    Long returned,
+                    Long daysRented,
+                    Long revenue) {
+        this(gameId, name, stockTotal, rentals, returned, daysRented, revenue, 0);
+    }
+}
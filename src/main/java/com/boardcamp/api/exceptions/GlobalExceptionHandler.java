@@ -1,44 +1,82 @@
 package com.boardcamp.api.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
+
+    final MeterRegistry meterRegistry;
+    GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler({GamesIdConflictException.class})
-    public ResponseEntity<String> handleCustomersIdConflictException(CustomersIdConflictException exception) {
-        return ResponseEntity.status(404).body(exception.getMessage());
+    public ResponseEntity<String> handleGamesIdConflictException(GamesIdConflictException exception) {
+        return respond(404, exception);
     }
 
     @ExceptionHandler({CustomersIdConflictException.class})
-    public ResponseEntity<String> handleGamesIdConflictException(GamesIdConflictException exception) {
-        return ResponseEntity.status(404).body(exception.getMessage());
+    public ResponseEntity<String> handleCustomersIdConflictException(CustomersIdConflictException exception) {
+        return respond(404, exception);
     }
 
     @ExceptionHandler({RentalsIdConflictException.class})
     public ResponseEntity<String> handleRentalsIdConflictException(RentalsIdConflictException exception) {
-        return ResponseEntity.status(404).body(exception.getMessage());
+        return respond(404, exception);
     }
 
     @ExceptionHandler({ReturnDateConflictException.class})
     public ResponseEntity<String> handleReturnDateConflictException(ReturnDateConflictException exception) {
-        return ResponseEntity.status(400).body(exception.getMessage());
+        return respond(400, exception);
     }
 
     @ExceptionHandler({ExistsByCpfConflictException.class})
     public ResponseEntity<String> handleExistsByCpfConflictException(ExistsByCpfConflictException exception) {
-        return ResponseEntity.status(409).body(exception.getMessage());
+        return respond(409, exception);
     }
 
     @ExceptionHandler({ExistsByNameConflictException.class})
     public ResponseEntity<String> handleExistsByNameConflictException(ExistsByNameConflictException exception) {
-        return ResponseEntity.status(409).body(exception.getMessage());
+        return respond(409, exception);
     }
 
     @ExceptionHandler({NoGamesInStockConflictException.class})
     public ResponseEntity<String> handleNoGamesInStockConflictException(NoGamesInStockConflictException exception) {
-        return ResponseEntity.status(422).body(exception.getMessage());
+        return respond(422, exception);
     }
 
+    @ExceptionHandler({IdempotencyKeyConflictException.class})
+    public ResponseEntity<String> handleIdempotencyKeyConflictException(IdempotencyKeyConflictException exception) {
+        return respond(409, exception);
+    }
+
+    @ExceptionHandler({IdempotencyKeyMismatchException.class})
+    public ResponseEntity<String> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException exception) {
+        return respond(422, exception);
+    }
+
+    @ExceptionHandler({RateLimitExceededException.class})
+    public ResponseEntity<String> handleRateLimitExceededException(RateLimitExceededException exception) {
+        ResponseEntity<String> response = respond(429, exception);
+        long seconds = Math.max(1, exception.getRetryAfter().plusNanos(999_999_999L).toSeconds());
+        return ResponseEntity.status(response.getStatusCode())
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+            .body(response.getBody());
+    }
+
+    private ResponseEntity<String> respond(int status, RuntimeException exception) {
+        Counter.builder("boardcamp.exceptions")
+            .description("Domain exceptions turned into error responses")
+            .tag("exception", exception.getClass().getSimpleName())
+            .tag("status", String.valueOf(status))
+            .register(meterRegistry)
+            .increment();
+        return ResponseEntity.status(status).body(exception.getMessage());
+    }
 }
@@ -0,0 +1,8 @@
+package com.boardcamp.api.exceptions;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+    
+}
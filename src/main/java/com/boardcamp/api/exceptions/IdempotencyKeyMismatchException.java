@@ -0,0 +1,8 @@
+package com.boardcamp.api.exceptions;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+    
+}
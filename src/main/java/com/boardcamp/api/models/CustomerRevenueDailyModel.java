@@ -0,0 +1,48 @@
+package com.boardcamp.api.models;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Rollup of rentals-boardcamp per day and customer; see GameRevenueDailyModel.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "customer-revenue-daily-boardcamp")
+@IdClass(CustomerRevenueDailyModel.Key.class)
+public class CustomerRevenueDailyModel {
+
+    @Id
+    @Column(name = "report_day")
+    private LocalDate day;
+
+    @Id
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private Integer rentals;
+
+    @Column(nullable = false)
+    private Integer returned;
+
+    @Column(nullable = false)
+    private Long revenue;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private Long customerId;
+    }
+}
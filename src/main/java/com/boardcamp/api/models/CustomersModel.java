@@ -7,7 +7,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,11 +19,16 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "customers-boardcamp")
+@Table(name = "customers-boardcamp", uniqueConstraints = {
+    @UniqueConstraint(name = CustomersModel.CPF_CONSTRAINT, columnNames = "cpf")
+})
 public class CustomersModel {
+
+    public static final String CPF_CONSTRAINT = "customers_cpf_key";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers-boardcamp_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -0,0 +1,53 @@
+package com.boardcamp.api.models;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Rollup of rentals-boardcamp per day and game, kept up to date by
+// RevenueRollupService. Rentals count on their rentDate with originalPrice; returns
+// count on their returnDate with delayFee.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "game-revenue-daily-boardcamp")
+@IdClass(GameRevenueDailyModel.Key.class)
+public class GameRevenueDailyModel {
+
+    @Id
+    @Column(name = "report_day")
+    private LocalDate day;
+
+    @Id
+    @Column(nullable = false)
+    private Long gameId;
+
+    @Column(nullable = false)
+    private Integer rentals;
+
+    @Column(nullable = false)
+    private Integer daysRented;
+
+    @Column(nullable = false)
+    private Integer returned;
+
+    @Column(nullable = false)
+    private Long revenue;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private Long gameId;
+    }
+}
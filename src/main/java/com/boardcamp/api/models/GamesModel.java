@@ -1,12 +1,18 @@
 package com.boardcamp.api.models;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.boardcamp.api.dtos.GamesDTO;
+import com.boardcamp.api.services.GamesSearchListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,10 +23,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Entity
 @Table(name = "games-boardcamp")
+@EntityListeners(GamesSearchListener.class)
 public class GamesModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "games_seq")
+    @SequenceGenerator(name = "games_seq", sequenceName = "games-boardcamp_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -35,10 +43,19 @@ public class GamesModel {
     @Column(nullable = false)
     private Integer pricePerDay;
 
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer rentedCount = 0;
+
     public GamesModel (GamesDTO dto) {
         this.name = dto.getName();
         this.image = dto.getImage();
         this.stockTotal = dto.getStockTotal();
         this.pricePerDay = dto.getPricePerDay();
     }
+
+    public GamesModel (Long id, String name, String image, Integer stockTotal, Integer pricePerDay) {
+        this(id, name, image, stockTotal, pricePerDay, 0);
+    }
 }
@@ -0,0 +1,48 @@
+package com.boardcamp.api.models;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A claimed Idempotency-Key. While the request runs, status is null and the claim
+// is held until lockedUntil; once it succeeded, the response is kept until expiresAt.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "idempotency-keys-boardcamp", indexes = {
+    @Index(name = "idempotency_keys_expires_at_idx", columnList = "expiresAt")
+})
+public class IdempotencyKeyModel {
+
+    // The endpoint followed by the client's key, e.g. "POST /rentals 3f2a...".
+    @Id
+    @Column(length = 300)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column
+    private Integer status;
+
+    @Column(length = 1_000_000)
+    private String body;
+
+    // Random token of the claim; only its holder may store the response.
+    @Column(length = 36)
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant lockedUntil;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
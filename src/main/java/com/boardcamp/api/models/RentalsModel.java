@@ -9,8 +9,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -20,11 +24,16 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "rentals-boardcamp")
+@Table(name = "rentals-boardcamp", indexes = {
+    @Index(name = "rentals_customer_id_idx", columnList = "customerId, id"),
+    @Index(name = "rentals_game_id_idx", columnList = "gameId, id"),
+    @Index(name = "rentals_return_date_idx", columnList = "returnDate, id")
+})
 public class RentalsModel {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rentals_seq")
+    @SequenceGenerator(name = "rentals_seq", sequenceName = "rentals-boardcamp_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +42,10 @@ public class RentalsModel {
     @Column(nullable = false)
     private Integer daysRented;
 
+    // rentDate + daysRented, kept so overdue rentals can be found by index range.
+    @Column
+    private LocalDate dueDate;
+
     @Column
     private LocalDate returnDate;
 
@@ -55,7 +68,29 @@ public class RentalsModel {
         this.game = game;
         this.daysRented = dto.getDaysRented();
         this.rentDate = LocalDate.now();
+        this.dueDate = rentDate.plusDays(daysRented);
         this.originalPrice = daysRented * game.getPricePerDay();
         this.delayFee = 0;
     }
+
+    public RentalsModel (
+                    Long id,
+                    LocalDate rentDate,
+                    Integer daysRented,
+                    LocalDate returnDate,
+                    Integer originalPrice,
+                    Integer delayFee,
+                    CustomersModel customer,
+                    GamesModel game) {
+        this(id, rentDate, daysRented, null, returnDate, originalPrice, delayFee, customer, game);
+        updateDueDate();
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateDueDate() {
+        if (rentDate != null && daysRented != null) {
+            dueDate = rentDate.plusDays(daysRented);
+        }
+    }
 }
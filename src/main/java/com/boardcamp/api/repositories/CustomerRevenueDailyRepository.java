@@ -0,0 +1,78 @@
+package com.boardcamp.api.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.api.models.CustomerRevenueDailyModel;
+
+@Repository
+public interface CustomerRevenueDailyRepository
+                extends JpaRepository<CustomerRevenueDailyModel, CustomerRevenueDailyModel.Key> {
+
+    @Modifying
+    @Query(value = """
+        insert into "customer-revenue-daily-boardcamp" (report_day, customer_id, rentals, returned, revenue)
+        values (:day, :customerId, 0, 0, 0)
+        on conflict do nothing
+        """, nativeQuery = true)
+    void insertIfMissing(@Param("day") LocalDate day, @Param("customerId") Long customerId);
+
+    @Modifying
+    @Query("""
+        update CustomerRevenueDailyModel r
+        set r.rentals = r.rentals + :rentals, r.returned = r.returned + :returned, r.revenue = r.revenue + :revenue
+        where r.day = :day and r.customerId = :customerId
+        """)
+    int increment(
+        @Param("day") LocalDate day,
+        @Param("customerId") Long customerId,
+        @Param("rentals") int rentals,
+        @Param("returned") int returned,
+        @Param("revenue") long revenue);
+
+    List<CustomerRevenueDailyModel> findByDayBetweenOrderByDayAscCustomerIdAsc(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = """
+        insert into "customer-revenue-daily-boardcamp" (report_day, customer_id, rentals, returned, revenue)
+        select report_day, customer_id, sum(rentals), sum(returned), sum(revenue)
+        from (
+            select rent_date as report_day, customer_id, 1 as rentals, 0 as returned, original_price as revenue
+            from "rentals-boardcamp"
+            union all
+            select return_date, customer_id, 0, 1, coalesce(delay_fee, 0)
+            from "rentals-boardcamp"
+            where return_date is not null
+        ) entries
+        group by report_day, customer_id
+        """, nativeQuery = true)
+    int insertFromRentals();
+
+    // Adds the archived rentals on top of insertFromRentals. PostgreSQL only, like
+    // the archive itself; RevenueRollupService skips it when archiving is disabled.
+    @Modifying
+    @Query(value = """
+        insert into "customer-revenue-daily-boardcamp" as r (report_day, customer_id, rentals, returned, revenue)
+        select report_day, customer_id, sum(rentals), sum(returned), sum(revenue)
+        from (
+            select rent_date as report_day, customer_id, 1 as rentals, 0 as returned, original_price as revenue
+            from "rentals-archive-boardcamp"
+            union all
+            select return_date, customer_id, 0, 1, coalesce(delay_fee, 0)
+            from "rentals-archive-boardcamp"
+            where return_date is not null
+        ) entries
+        group by report_day, customer_id
+        on conflict (report_day, customer_id) do update
+        set rentals = r.rentals + excluded.rentals,
+            returned = r.returned + excluded.returned,
+            revenue = r.revenue + excluded.revenue
+        """, nativeQuery = true)
+    int addFromArchivedRentals();
+}
@@ -1,11 +1,36 @@
 package com.boardcamp.api.repositories;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.boardcamp.api.models.CustomersModel;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface CustomersRepository extends JpaRepository<CustomersModel, Long> {
+public interface CustomersRepository extends JpaRepository<CustomersModel, Long>, JpaSpecificationExecutor<CustomersModel> {
     boolean existsByCpf(String cpf);
+
+    @Query("select c.cpf from CustomersModel c where c.cpf in :cpfs")
+    Set<String> findCpfsIn(@Param("cpfs") Collection<String> cpfs);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from CustomersModel c order by c.id")
+    Stream<CustomersModel> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("select c.cpf from CustomersModel c")
+    Stream<String> streamAllCpfs();
 }
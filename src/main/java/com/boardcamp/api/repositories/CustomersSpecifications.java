@@ -0,0 +1,55 @@
+package com.boardcamp.api.repositories;
+
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.boardcamp.api.dtos.CustomersFilterDTO;
+import com.boardcamp.api.models.CustomersModel;
+
+public final class CustomersSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private CustomersSpecifications() {
+    }
+
+    // cpf and phone are matched by prefix, which the text_pattern_ops indexes in
+    // db/customers-search.sql serve as range scans; name matches the start of any
+    // word, served by the trigram index on lower(name).
+    public static Specification<CustomersModel> matching(CustomersFilterDTO filter) {
+        return Specification.allOf(
+            idAfter(filter.getAfter()),
+            cpfStartsWith(filter.getCpf()),
+            phoneStartsWith(filter.getPhone()),
+            nameWordStartsWith(filter.getName()));
+    }
+
+    public static Specification<CustomersModel> idAfter(Long after) {
+        return (root, query, cb) -> after == null ? null : cb.greaterThan(root.get("id"), after);
+    }
+
+    public static Specification<CustomersModel> cpfStartsWith(String cpf) {
+        return (root, query, cb) -> cpf == null ? null : cb.like(root.get("cpf"), escape(cpf) + "%", ESCAPE);
+    }
+
+    public static Specification<CustomersModel> phoneStartsWith(String phone) {
+        return (root, query, cb) -> phone == null ? null : cb.like(root.get("phone"), escape(phone) + "%", ESCAPE);
+    }
+
+    public static Specification<CustomersModel> nameWordStartsWith(String name) {
+        return (root, query, cb) -> {
+            if (name == null) {
+                return null;
+            }
+            String prefix = escape(name.trim().toLowerCase(Locale.ROOT));
+            return cb.or(
+                cb.like(cb.lower(root.get("name")), prefix + "%", ESCAPE),
+                cb.like(cb.lower(root.get("name")), "% " + prefix + "%", ESCAPE));
+        };
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
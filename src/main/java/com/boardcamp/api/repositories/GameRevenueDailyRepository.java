@@ -0,0 +1,93 @@
+package com.boardcamp.api.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.api.dtos.UtilizationReportDTO;
+import com.boardcamp.api.models.GameRevenueDailyModel;
+
+@Repository
+public interface GameRevenueDailyRepository extends JpaRepository<GameRevenueDailyModel, GameRevenueDailyModel.Key> {
+
+    // The row is created empty first so concurrent writers only ever increment it
+    // under its row lock; ON CONFLICT DO NOTHING is understood by H2 as well.
+    @Modifying
+    @Query(value = """
+        insert into "game-revenue-daily-boardcamp" (report_day, game_id, rentals, days_rented, returned, revenue)
+        values (:day, :gameId, 0, 0, 0, 0)
+        on conflict do nothing
+        """, nativeQuery = true)
+    void insertIfMissing(@Param("day") LocalDate day, @Param("gameId") Long gameId);
+
+    @Modifying
+    @Query("""
+        update GameRevenueDailyModel r
+        set r.rentals = r.rentals + :rentals, r.daysRented = r.daysRented + :daysRented,
+            r.returned = r.returned + :returned, r.revenue = r.revenue + :revenue
+        where r.day = :day and r.gameId = :gameId
+        """)
+    int increment(
+        @Param("day") LocalDate day,
+        @Param("gameId") Long gameId,
+        @Param("rentals") int rentals,
+        @Param("daysRented") int daysRented,
+        @Param("returned") int returned,
+        @Param("revenue") long revenue);
+
+    List<GameRevenueDailyModel> findByDayBetweenOrderByDayAscGameIdAsc(LocalDate from, LocalDate to);
+
+    @Query("""
+        select new com.boardcamp.api.dtos.UtilizationReportDTO(
+            r.gameId, g.name, g.stockTotal, sum(r.rentals), sum(r.returned), sum(r.daysRented), sum(r.revenue))
+        from GameRevenueDailyModel r, GamesModel g
+        where g.id = r.gameId and r.day between :from and :to
+        group by r.gameId, g.name, g.stockTotal
+        order by r.gameId
+        """)
+    List<UtilizationReportDTO> sumByGame(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = """
+        insert into "game-revenue-daily-boardcamp" (report_day, game_id, rentals, days_rented, returned, revenue)
+        select report_day, game_id, sum(rentals), sum(days_rented), sum(returned), sum(revenue)
+        from (
+            select rent_date as report_day, game_id, 1 as rentals, days_rented, 0 as returned, original_price as revenue
+            from "rentals-boardcamp"
+            union all
+            select return_date, game_id, 0, 0, 1, coalesce(delay_fee, 0)
+            from "rentals-boardcamp"
+            where return_date is not null
+        ) entries
+        group by report_day, game_id
+        """, nativeQuery = true)
+    int insertFromRentals();
+
+    // Adds the archived rentals on top of insertFromRentals. PostgreSQL only, like
+    // the archive itself; RevenueRollupService skips it when archiving is disabled.
+    @Modifying
+    @Query(value = """
+        insert into "game-revenue-daily-boardcamp" as r (report_day, game_id, rentals, days_rented, returned, revenue)
+        select report_day, game_id, sum(rentals), sum(days_rented), sum(returned), sum(revenue)
+        from (
+            select rent_date as report_day, game_id, 1 as rentals, days_rented, 0 as returned, original_price as revenue
+            from "rentals-archive-boardcamp"
+            union all
+            select return_date, game_id, 0, 0, 1, coalesce(delay_fee, 0)
+            from "rentals-archive-boardcamp"
+            where return_date is not null
+        ) entries
+        group by report_day, game_id
+        on conflict (report_day, game_id) do update
+        set rentals = r.rentals + excluded.rentals,
+            days_rented = r.days_rented + excluded.days_rented,
+            returned = r.returned + excluded.returned,
+            revenue = r.revenue + excluded.revenue
+        """, nativeQuery = true)
+    int addFromArchivedRentals();
+}
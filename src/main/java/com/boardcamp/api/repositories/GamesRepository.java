@@ -1,11 +1,105 @@
 package com.boardcamp.api.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.boardcamp.api.models.GamesModel;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface GamesRepository extends JpaRepository<GamesModel, Long> {
+
+    String GAMES_CACHE = "games";
+    String CATALOG_CACHE = "gamesCatalog";
+
+    // The catalog is cached here, at the repository, so every read and write path
+    // (GamesService, rental creation, bulk import) goes through the same cache.
+    // CacheConfig stores copies and applies puts and evictions on commit.
+    @Override
+    @Cacheable(CATALOG_CACHE)
+    List<GamesModel> findAll();
+
+    @Override
+    @Cacheable(cacheNames = GAMES_CACHE, unless = "#result == null")
+    Optional<GamesModel> findById(Long id);
+
+    @Override
+    @Caching(
+        put = @CachePut(cacheNames = GAMES_CACHE, key = "#result.id"),
+        evict = @CacheEvict(cacheNames = CATALOG_CACHE, allEntries = true))
+    <S extends GamesModel> S save(S game);
+
+    @Override
+    @CacheEvict(cacheNames = CATALOG_CACHE, allEntries = true)
+    <S extends GamesModel> List<S> saveAll(Iterable<S> games);
+
+    @Override
+    @CacheEvict(cacheNames = {GAMES_CACHE, CATALOG_CACHE}, allEntries = true)
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = {GAMES_CACHE, CATALOG_CACHE}, allEntries = true)
+    void deleteAll();
+
     boolean existsByName(String name);
+
+    @Query("select g.name from GamesModel g where g.name in :names")
+    Set<String> findNamesIn(@Param("names") Collection<String> names);
+
+    interface RentedCount {
+        Long getGameId();
+
+        Integer getRentedCount();
+    }
+
+    @Modifying
+    @Query("update GamesModel g set g.rentedCount = g.rentedCount + 1 where g.id = :id and g.rentedCount < g.stockTotal")
+    int reserveCopy(@Param("id") Long id);
+
+    @Modifying
+    @Query("update GamesModel g set g.rentedCount = greatest(g.rentedCount - :copies, 0) where g.id = :id and g.rentedCount > 0")
+    int releaseCopies(@Param("id") Long id, @Param("copies") int copies);
+
+    @Modifying
+    @Query("update GamesModel g set g.rentedCount = :rentedCount where g.id = :id")
+    int setRentedCount(@Param("id") Long id, @Param("rentedCount") int rentedCount);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from GamesModel g where g.id = :id")
+    Optional<GamesModel> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from GamesModel g where g.id in :ids order by g.id")
+    List<GamesModel> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("select g.id as gameId, g.rentedCount as rentedCount from GamesModel g")
+    List<RentedCount> findRentedCounts();
+
+    @Query("select g.rentedCount from GamesModel g where g.id = :id")
+    Optional<Integer> findRentedCountById(@Param("id") Long id);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select g from GamesModel g order by g.id")
+    Stream<GamesModel> streamAll();
 }
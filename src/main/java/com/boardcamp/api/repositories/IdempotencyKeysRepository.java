@@ -0,0 +1,65 @@
+package com.boardcamp.api.repositories;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.api.models.IdempotencyKeyModel;
+
+@Repository
+public interface IdempotencyKeysRepository extends JpaRepository<IdempotencyKeyModel, String> {
+
+    @Modifying
+    @Query(value = """
+        insert into "idempotency-keys-boardcamp" (idempotency_key, request_hash, status, body, owner, locked_until, expires_at)
+        values (:key, :requestHash, null, null, :owner, :lockedUntil, :expiresAt)
+        on conflict do nothing
+        """, nativeQuery = true)
+    int claim(
+        @Param("key") String key,
+        @Param("requestHash") String requestHash,
+        @Param("owner") String owner,
+        @Param("lockedUntil") Instant lockedUntil,
+        @Param("expiresAt") Instant expiresAt);
+
+    // Takes over a key whose owner died mid-request or whose stored response expired.
+    @Modifying
+    @Query("""
+        update IdempotencyKeyModel k
+        set k.requestHash = :requestHash, k.status = null, k.body = null, k.owner = :owner,
+            k.lockedUntil = :lockedUntil, k.expiresAt = :expiresAt
+        where k.idempotencyKey = :key
+          and ((k.status is null and k.lockedUntil < :now) or k.expiresAt < :now)
+        """)
+    int reclaim(
+        @Param("key") String key,
+        @Param("requestHash") String requestHash,
+        @Param("owner") String owner,
+        @Param("lockedUntil") Instant lockedUntil,
+        @Param("expiresAt") Instant expiresAt,
+        @Param("now") Instant now);
+
+    // Updates nothing when the claim was taken over after its lease ran out.
+    @Modifying
+    @Query("""
+        update IdempotencyKeyModel k set k.status = :status, k.body = :body
+        where k.idempotencyKey = :key and k.owner = :owner and k.status is null
+        """)
+    int complete(
+        @Param("key") String key,
+        @Param("owner") String owner,
+        @Param("status") int status,
+        @Param("body") String body);
+
+    @Modifying
+    @Query("delete from IdempotencyKeyModel k where k.idempotencyKey = :key and k.owner = :owner and k.status is null")
+    int release(@Param("key") String key, @Param("owner") String owner);
+
+    @Modifying
+    @Query("delete from IdempotencyKeyModel k where k.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,113 @@
+package com.boardcamp.api.repositories;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.api.dtos.CustomersFilterDTO;
+import com.boardcamp.api.models.CustomersModel;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of CustomersRepository for the reactive profile.
+@Repository
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveCustomersRepository {
+
+    static final String TABLE = "customers-boardcamp";
+    static final String COLUMNS = "c.id, c.name, c.phone, c.cpf";
+
+    final DatabaseClient databaseClient;
+    final ReactiveSequences sequences;
+    ReactiveCustomersRepository(DatabaseClient databaseClient, ReactiveSequences sequences) {
+        this.databaseClient = databaseClient;
+        this.sequences = sequences;
+    }
+
+    public Flux<CustomersModel> findAll() {
+        return databaseClient.sql("select " + COLUMNS + " from \"customers-boardcamp\" c order by c.id")
+            .map(ReactiveCustomersRepository::customer)
+            .all();
+    }
+
+    public Mono<CustomersModel> findById(Long id) {
+        return databaseClient.sql("select " + COLUMNS + " from \"customers-boardcamp\" c where c.id = :id")
+            .bind("id", id)
+            .map(ReactiveCustomersRepository::customer)
+            .one();
+    }
+
+    // Same predicates as CustomersSpecifications.matching, keyset-paginated by id.
+    public Flux<CustomersModel> findMatching(CustomersFilterDTO filter, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        if (filter.getAfter() != null) {
+            conditions.add("c.id > :after");
+            bindings.put("after", filter.getAfter());
+        }
+        if (filter.getCpf() != null) {
+            conditions.add("c.cpf like :cpf escape '\\'");
+            bindings.put("cpf", escape(filter.getCpf()) + "%");
+        }
+        if (filter.getPhone() != null) {
+            conditions.add("c.phone like :phone escape '\\'");
+            bindings.put("phone", escape(filter.getPhone()) + "%");
+        }
+        if (filter.getName() != null) {
+            String prefix = escape(filter.getName().trim().toLowerCase(Locale.ROOT));
+            conditions.add("(lower(c.name) like :namePrefix escape '\\' or lower(c.name) like :nameWord escape '\\')");
+            bindings.put("namePrefix", prefix + "%");
+            bindings.put("nameWord", "% " + prefix + "%");
+        }
+
+        String where = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+        GenericExecuteSpec spec = databaseClient.sql(
+            "select " + COLUMNS + " from \"customers-boardcamp\" c" + where + " order by c.id limit " + limit);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(ReactiveCustomersRepository::customer).all();
+    }
+
+    public Mono<Boolean> existsByCpf(String cpf) {
+        return databaseClient.sql("select count(*) from \"customers-boardcamp\" where cpf = :cpf")
+            .bind("cpf", cpf)
+            .map(row -> ((Number) row.get(0)).longValue() > 0)
+            .one();
+    }
+
+    public Mono<CustomersModel> insert(CustomersModel customer) {
+        return sequences.next(TABLE).flatMap(id -> databaseClient.sql("""
+                insert into "customers-boardcamp" (id, name, phone, cpf)
+                values (:id, :name, :phone, :cpf)
+                """)
+            .bind("id", id)
+            .bind("name", customer.getName())
+            .bind("phone", customer.getPhone())
+            .bind("cpf", customer.getCpf())
+            .then()
+            .thenReturn(new CustomersModel(id, customer.getName(), customer.getPhone(), customer.getCpf())));
+    }
+
+    static CustomersModel customer(Readable row) {
+        return new CustomersModel(
+            row.get("id", Long.class),
+            row.get("name", String.class),
+            row.get("phone", String.class),
+            row.get("cpf", String.class));
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
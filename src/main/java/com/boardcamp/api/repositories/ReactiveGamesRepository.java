@@ -0,0 +1,94 @@
+package com.boardcamp.api.repositories;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.api.models.GamesModel;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of GamesRepository for the reactive profile.
+@Repository
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveGamesRepository {
+
+    static final String TABLE = "games-boardcamp";
+    static final String COLUMNS = "g.id, g.name, g.image, g.stock_total, g.price_per_day, g.rented_count";
+
+    final DatabaseClient databaseClient;
+    final ReactiveSequences sequences;
+    ReactiveGamesRepository(DatabaseClient databaseClient, ReactiveSequences sequences) {
+        this.databaseClient = databaseClient;
+        this.sequences = sequences;
+    }
+
+    public Flux<GamesModel> findAll() {
+        return databaseClient.sql("select " + COLUMNS + " from \"games-boardcamp\" g order by g.id")
+            .map(ReactiveGamesRepository::game)
+            .all();
+    }
+
+    public Mono<GamesModel> findById(Long id) {
+        return databaseClient.sql("select " + COLUMNS + " from \"games-boardcamp\" g where g.id = :id")
+            .bind("id", id)
+            .map(ReactiveGamesRepository::game)
+            .one();
+    }
+
+    public Mono<Boolean> existsByName(String name) {
+        return databaseClient.sql("select count(*) from \"games-boardcamp\" where name = :name")
+            .bind("name", name)
+            .map(row -> ((Number) row.get(0)).longValue() > 0)
+            .one();
+    }
+
+    public Mono<GamesModel> insert(GamesModel game) {
+        return sequences.next(TABLE).flatMap(id -> databaseClient.sql("""
+                insert into "games-boardcamp" (id, name, image, stock_total, price_per_day, rented_count)
+                values (:id, :name, :image, :stockTotal, :pricePerDay, 0)
+                """)
+            .bind("id", id)
+            .bind("name", game.getName())
+            .bind("image", game.getImage())
+            .bind("stockTotal", game.getStockTotal())
+            .bind("pricePerDay", game.getPricePerDay())
+            .then()
+            .thenReturn(new GamesModel(id, game.getName(), game.getImage(), game.getStockTotal(), game.getPricePerDay())));
+    }
+
+    // Same conditional update as GamesRepository.reserveCopy.
+    public Mono<Long> reserveCopy(Long id) {
+        return databaseClient.sql("""
+                update "games-boardcamp" set rented_count = rented_count + 1
+                where id = :id and rented_count < stock_total
+                """)
+            .bind("id", id)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    public Mono<Long> releaseCopies(Long id, int copies) {
+        return databaseClient.sql("""
+                update "games-boardcamp" set rented_count = greatest(rented_count - :copies, 0)
+                where id = :id and rented_count > 0
+                """)
+            .bind("id", id)
+            .bind("copies", copies)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    static GamesModel game(Readable row) {
+        return new GamesModel(
+            row.get("id", Long.class),
+            row.get("name", String.class),
+            row.get("image", String.class),
+            row.get("stock_total", Integer.class),
+            row.get("price_per_day", Integer.class),
+            row.get("rented_count", Integer.class));
+    }
+}
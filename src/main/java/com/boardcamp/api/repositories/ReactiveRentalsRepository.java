@@ -0,0 +1,164 @@
+package com.boardcamp.api.repositories;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.api.dtos.RentalsFilterDTO;
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.models.RentalsModel;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of RentalsRepository for the reactive profile. Rentals are
+// read joined with their customer and game, one statement per page.
+@Repository
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveRentalsRepository {
+
+    static final String TABLE = "rentals-boardcamp";
+    static final String SELECT = """
+        select r.id as rental_id, r.rent_date, r.days_rented, r.return_date, r.original_price, r.delay_fee,
+               c.id as customer_id, c.name as customer_name, c.phone, c.cpf,
+               g.id as game_id, g.name as game_name, g.image, g.stock_total, g.price_per_day, g.rented_count
+        from "rentals-boardcamp" r
+        join "customers-boardcamp" c on c.id = r.customer_id
+        join "games-boardcamp" g on g.id = r.game_id
+        """;
+    // Same columns from the archive that RentalsArchiveService moves old returns to.
+    static final String SELECT_ARCHIVED = SELECT.replace("\"rentals-boardcamp\"", "\"rentals-archive-boardcamp\"");
+
+    final DatabaseClient databaseClient;
+    final ReactiveSequences sequences;
+    ReactiveRentalsRepository(DatabaseClient databaseClient, ReactiveSequences sequences) {
+        this.databaseClient = databaseClient;
+        this.sequences = sequences;
+    }
+
+    // Same predicates as RentalsSpecifications.matching, keyset-paginated by id.
+    public Flux<RentalsModel> findMatching(RentalsFilterDTO filter, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        if (filter.getAfter() != null) {
+            conditions.add("r.id > :after");
+            bindings.put("after", filter.getAfter());
+        }
+        if (filter.getCustomerId() != null) {
+            conditions.add("r.customer_id = :customerId");
+            bindings.put("customerId", filter.getCustomerId());
+        }
+        if (filter.getGameId() != null) {
+            conditions.add("r.game_id = :gameId");
+            bindings.put("gameId", filter.getGameId());
+        }
+        if ("open".equals(filter.getStatus())) {
+            conditions.add("r.return_date is null");
+        } else if ("returned".equals(filter.getStatus())) {
+            conditions.add("r.return_date is not null");
+        }
+
+        String where = conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions);
+        GenericExecuteSpec spec = databaseClient.sql(SELECT + where + " order by r.id limit " + limit);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(ReactiveRentalsRepository::rental).all();
+    }
+
+    public Mono<RentalsModel> findById(Long id) {
+        return databaseClient.sql(SELECT + "where r.id = :id")
+            .bind("id", id)
+            .map(ReactiveRentalsRepository::rental)
+            .one();
+    }
+
+    public Mono<RentalsModel> findArchivedById(Long id) {
+        return databaseClient.sql(SELECT_ARCHIVED + "where r.id = :id")
+            .bind("id", id)
+            .map(ReactiveRentalsRepository::rental)
+            .one();
+    }
+
+    public Mono<RentalsModel> insert(RentalsModel rental) {
+        return sequences.next(TABLE).flatMap(id -> databaseClient.sql("""
+                insert into "rentals-boardcamp"
+                    (id, rent_date, days_rented, due_date, return_date, original_price, delay_fee, customer_id, game_id)
+                values (:id, :rentDate, :daysRented, :dueDate, null, :originalPrice, :delayFee, :customerId, :gameId)
+                """)
+            .bind("id", id)
+            .bind("rentDate", rental.getRentDate())
+            .bind("daysRented", rental.getDaysRented())
+            .bind("dueDate", rental.getDueDate())
+            .bind("originalPrice", rental.getOriginalPrice())
+            .bind("delayFee", rental.getDelayFee())
+            .bind("customerId", rental.getCustomer().getId())
+            .bind("gameId", rental.getGame().getId())
+            .then()
+            .then(Mono.fromSupplier(() -> {
+                rental.setId(id);
+                return rental;
+            })));
+    }
+
+    // Only an open rental is updated, so two concurrent returns cannot both succeed.
+    public Mono<Long> markReturned(RentalsModel rental) {
+        return databaseClient.sql("""
+                update "rentals-boardcamp" set return_date = :returnDate, delay_fee = :delayFee
+                where id = :id and return_date is null
+                """)
+            .bind("returnDate", rental.getReturnDate())
+            .bind("delayFee", rental.getDelayFee())
+            .bind("id", rental.getId())
+            .fetch()
+            .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("delete from \"rentals-boardcamp\" where id = :id")
+            .bind("id", id)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    public Mono<Long> deleteArchivedById(Long id) {
+        return databaseClient.sql("delete from \"rentals-archive-boardcamp\" where id = :id")
+            .bind("id", id)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    static RentalsModel rental(Readable row) {
+        CustomersModel customer = new CustomersModel(
+            row.get("customer_id", Long.class),
+            row.get("customer_name", String.class),
+            row.get("phone", String.class),
+            row.get("cpf", String.class));
+        GamesModel game = new GamesModel(
+            row.get("game_id", Long.class),
+            row.get("game_name", String.class),
+            row.get("image", String.class),
+            row.get("stock_total", Integer.class),
+            row.get("price_per_day", Integer.class),
+            row.get("rented_count", Integer.class));
+        return new RentalsModel(
+            row.get("rental_id", Long.class),
+            row.get("rent_date", LocalDate.class),
+            row.get("days_rented", Integer.class),
+            row.get("return_date", LocalDate.class),
+            row.get("original_price", Integer.class),
+            row.get("delay_fee", Integer.class),
+            customer,
+            game);
+    }
+}
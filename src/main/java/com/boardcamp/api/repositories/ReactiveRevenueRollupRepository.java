@@ -0,0 +1,84 @@
+package com.boardcamp.api.repositories;
+
+import java.time.LocalDate;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.api.models.RentalsModel;
+
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of RevenueRollupService for the reactive profile, with the same
+// statements as GameRevenueDailyRepository and CustomerRevenueDailyRepository. The
+// reactive endpoints only change one rental at a time.
+@Repository
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveRevenueRollupRepository {
+
+    final DatabaseClient databaseClient;
+    ReactiveRevenueRollupRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Void> rented(RentalsModel rental, int sign) {
+        return addGame(rental.getRentDate(), rental.getGame().getId(),
+                sign, sign * rental.getDaysRented(), 0, sign * rental.getOriginalPrice())
+            .then(addCustomer(rental.getRentDate(), rental.getCustomer().getId(),
+                sign, 0, sign * rental.getOriginalPrice()));
+    }
+
+    public Mono<Void> returned(RentalsModel rental, int sign) {
+        long fee = rental.getDelayFee() == null ? 0 : sign * rental.getDelayFee();
+        return addGame(rental.getReturnDate(), rental.getGame().getId(), 0, 0, sign, fee)
+            .then(addCustomer(rental.getReturnDate(), rental.getCustomer().getId(), 0, sign, fee));
+    }
+
+    private Mono<Void> addGame(LocalDate day, Long gameId, int rentals, int daysRented, int returned, long revenue) {
+        return databaseClient.sql("""
+                insert into "game-revenue-daily-boardcamp" (report_day, game_id, rentals, days_rented, returned, revenue)
+                values (:day, :gameId, 0, 0, 0, 0)
+                on conflict do nothing
+                """)
+            .bind("day", day)
+            .bind("gameId", gameId)
+            .then()
+            .then(databaseClient.sql("""
+                    update "game-revenue-daily-boardcamp"
+                    set rentals = rentals + :rentals, days_rented = days_rented + :daysRented,
+                        returned = returned + :returned, revenue = revenue + :revenue
+                    where report_day = :day and game_id = :gameId
+                    """)
+                .bind("rentals", rentals)
+                .bind("daysRented", daysRented)
+                .bind("returned", returned)
+                .bind("revenue", revenue)
+                .bind("day", day)
+                .bind("gameId", gameId)
+                .then());
+    }
+
+    private Mono<Void> addCustomer(LocalDate day, Long customerId, int rentals, int returned, long revenue) {
+        return databaseClient.sql("""
+                insert into "customer-revenue-daily-boardcamp" (report_day, customer_id, rentals, returned, revenue)
+                values (:day, :customerId, 0, 0, 0)
+                on conflict do nothing
+                """)
+            .bind("day", day)
+            .bind("customerId", customerId)
+            .then()
+            .then(databaseClient.sql("""
+                    update "customer-revenue-daily-boardcamp"
+                    set rentals = rentals + :rentals, returned = returned + :returned, revenue = revenue + :revenue
+                    where report_day = :day and customer_id = :customerId
+                    """)
+                .bind("rentals", rentals)
+                .bind("returned", returned)
+                .bind("revenue", revenue)
+                .bind("day", day)
+                .bind("customerId", customerId)
+                .then());
+    }
+}
@@ -0,0 +1,33 @@
+package com.boardcamp.api.repositories;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+import reactor.core.publisher.Mono;
+
+// Ids for rows inserted over R2DBC come from the same sequences Hibernate uses.
+// The next-value SQL is taken from Hibernate's dialect, so it matches whichever
+// database the JPA side is connected to.
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveSequences {
+
+    final DatabaseClient databaseClient;
+    final Dialect dialect;
+    ReactiveSequences(DatabaseClient databaseClient, EntityManagerFactory entityManagerFactory) {
+        this.databaseClient = databaseClient;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    public Mono<Long> next(String table) {
+        String sql = dialect.getSequenceSupport().getSequenceNextValString("\"" + table + "_seq\"");
+        return databaseClient.sql(sql)
+            .map(row -> ((Number) row.get(0)).longValue())
+            .one();
+    }
+}
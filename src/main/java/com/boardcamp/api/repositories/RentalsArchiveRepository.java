@@ -0,0 +1,85 @@
+package com.boardcamp.api.repositories;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.boardcamp.api.models.RentalsModel;
+
+// Native access to "rentals-archive-boardcamp" (db/rentals-archive.sql). The archive
+// is not mapped as an entity, so Hibernate never creates it as a plain table and its
+// rows are never managed RentalsModel instances.
+@Repository
+public interface RentalsArchiveRepository extends org.springframework.data.repository.Repository<RentalsModel, Long> {
+
+    interface ArchivedRental {
+        Long getId();
+
+        LocalDate getRentDate();
+
+        Integer getDaysRented();
+
+        LocalDate getReturnDate();
+
+        Integer getOriginalPrice();
+
+        Integer getDelayFee();
+
+        Long getCustomerId();
+
+        Long getGameId();
+    }
+
+    @Query("select min(r.returnDate) from RentalsModel r where r.returnDate < :cutoff")
+    LocalDate findOldestReturnDateBefore(@Param("cutoff") LocalDate cutoff);
+
+    @Query(value = """
+        select c.relname from pg_inherits i
+        join pg_class c on c.oid = i.inhrelid
+        join pg_class p on p.oid = i.inhparent
+        where p.relname = 'rentals-archive-boardcamp'
+        """, nativeQuery = true)
+    Set<String> findPartitionNames();
+
+    // Only one archiver at a time across instances; released when the batch commits.
+    @Query(value = "select pg_try_advisory_xact_lock(hashtext('rentals-archive-boardcamp'))", nativeQuery = true)
+    boolean tryLock();
+
+    // Moves one batch in a single statement, oldest returns first, walking
+    // rentals_return_date_idx. Rows locked by a concurrent delete are skipped.
+    @Modifying
+    @Query(value = """
+        with moved as (
+            delete from "rentals-boardcamp"
+            where id in (
+                select id from "rentals-boardcamp"
+                where return_date < :cutoff
+                order by return_date, id
+                limit :limit
+                for update skip locked)
+            returning id, rent_date, days_rented, due_date, return_date, original_price, delay_fee, customer_id, game_id)
+        insert into "rentals-archive-boardcamp"
+            (id, rent_date, days_rented, due_date, return_date, original_price, delay_fee, customer_id, game_id)
+        select id, rent_date, days_rented, due_date, return_date, original_price, delay_fee, customer_id, game_id
+        from moved
+        """, nativeQuery = true)
+    int archiveReturnedBefore(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
+
+    @Query(value = """
+        select id, rent_date as "rentDate", days_rented as "daysRented", return_date as "returnDate",
+               original_price as "originalPrice", delay_fee as "delayFee",
+               customer_id as "customerId", game_id as "gameId"
+        from "rentals-archive-boardcamp"
+        where id = :id
+        """, nativeQuery = true)
+    Optional<ArchivedRental> findArchivedById(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "delete from \"rentals-archive-boardcamp\" where id = :id", nativeQuery = true)
+    int deleteArchivedById(@Param("id") Long id);
+}
@@ -1,13 +1,91 @@
 package com.boardcamp.api.repositories;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.boardcamp.api.models.RentalsModel;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface RentalsRepository extends JpaRepository<RentalsModel, Long> {
+public interface RentalsRepository extends JpaRepository<RentalsModel, Long>, JpaSpecificationExecutor<RentalsModel> {
 
     int countByGameIdAndReturnDateIsNull(Long id);
-    
+
+    interface OpenRentalsCount {
+        Long getGameId();
+
+        Long getOpenRentals();
+    }
+
+    @Query("select r.game.id as gameId, count(r) as openRentals from RentalsModel r where r.returnDate is null group by r.game.id")
+    List<OpenRentalsCount> countOpenRentalsByGame();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from RentalsModel r where r.id = :id")
+    Optional<RentalsModel> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    // Locked in id order so concurrent bulk returns cannot deadlock each other.
+    @Query("select r from RentalsModel r where r.id in :ids order by r.id")
+    List<RentalsModel> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    interface OverdueTotal {
+        LocalDate getDueDate();
+
+        Long getRentals();
+
+        Long getDailyFee();
+    }
+
+    // The overdue queries are range scans on rentals_open_due_date_idx, the partial
+    // index on open rentals from db/rentals-overdue.sql.
+    @Query("""
+        select r.dueDate as dueDate, count(r) as rentals, sum(r.game.pricePerDay) as dailyFee
+        from RentalsModel r
+        where r.returnDate is null and r.dueDate < :today
+        group by r.dueDate
+        """)
+    List<OverdueTotal> sumOverdueByDueDate(@Param("today") LocalDate today);
+
+    @Query("""
+        select r.dueDate as dueDate, count(r) as rentals, sum(r.game.pricePerDay) as dailyFee
+        from RentalsModel r
+        where r.returnDate is null and r.dueDate >= :from and r.dueDate < :today
+        group by r.dueDate
+        """)
+    List<OverdueTotal> sumOverdueByDueDateBetween(@Param("from") LocalDate from, @Param("today") LocalDate today);
+
+    @Query("""
+        select r from RentalsModel r join fetch r.customer join fetch r.game
+        where r.returnDate is null and r.dueDate < :today
+        order by r.dueDate, r.id
+        """)
+    List<RentalsModel> findOverdue(@Param("today") LocalDate today, Limit limit);
+
+    @Modifying
+    @Query("update RentalsModel r set r.dueDate = r.rentDate + (r.daysRented) day where r.dueDate is null")
+    int fillMissingDueDates();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from RentalsModel r join fetch r.customer join fetch r.game order by r.id")
+    Stream<RentalsModel> streamAll();
 }
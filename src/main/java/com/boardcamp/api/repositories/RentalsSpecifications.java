@@ -0,0 +1,58 @@
+package com.boardcamp.api.repositories;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.boardcamp.api.dtos.RentalsFilterDTO;
+import com.boardcamp.api.models.RentalsModel;
+
+public final class RentalsSpecifications {
+
+    private RentalsSpecifications() {
+    }
+
+    // Keyset pagination: every filter is an equality or null check, so the
+    // (filter column, id) indexes on RentalsModel serve each page as a range scan.
+    // Customer and game are fetch-joined so a page is loaded by a single select.
+    public static Specification<RentalsModel> matching(RentalsFilterDTO filter) {
+        return Specification.allOf(
+            fetchCustomerAndGame(),
+            idAfter(filter.getAfter()),
+            customerIdEquals(filter.getCustomerId()),
+            gameIdEquals(filter.getGameId()),
+            status(filter.getStatus()));
+    }
+
+    public static Specification<RentalsModel> fetchCustomerAndGame() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("customer");
+                root.fetch("game");
+            }
+            return null;
+        };
+    }
+
+    public static Specification<RentalsModel> idAfter(Long after) {
+        return (root, query, cb) -> after == null ? null : cb.greaterThan(root.get("id"), after);
+    }
+
+    public static Specification<RentalsModel> customerIdEquals(Long customerId) {
+        return (root, query, cb) -> customerId == null ? null : cb.equal(root.get("customer").get("id"), customerId);
+    }
+
+    public static Specification<RentalsModel> gameIdEquals(Long gameId) {
+        return (root, query, cb) -> gameId == null ? null : cb.equal(root.get("game").get("id"), gameId);
+    }
+
+    public static Specification<RentalsModel> status(String status) {
+        return (root, query, cb) -> {
+            if ("open".equals(status)) {
+                return cb.isNull(root.get("returnDate"));
+            }
+            if ("returned".equals(status)) {
+                return cb.isNotNull(root.get("returnDate"));
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,239 @@
+package com.boardcamp.api.services;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.api.dtos.CustomersDTO;
+import com.boardcamp.api.dtos.GamesDTO;
+import com.boardcamp.api.dtos.ImportRejectionDTO;
+import com.boardcamp.api.dtos.ImportReportDTO;
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.repositories.CustomersRepository;
+import com.boardcamp.api.repositories.GamesRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Bulk catalog loads. Rows are processed in chunks, each in its own transaction:
+// one set-based duplicate query per chunk, then a saveAll that Hibernate sends as
+// JDBC batches (pooled sequence ids, ordered inserts), then the context is cleared.
+// A chunk that trips the unique constraint on its key, because a row was inserted
+// concurrently after the duplicate query, is retried one row per transaction so only
+// the conflicting rows are rejected.
+@Service
+public class CatalogImportService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    final GamesRepository gamesRepository;
+    final CustomersRepository customersRepository;
+    final CustomersCpfFilter customersCpfFilter;
+    final TransactionTemplate transactionTemplate;
+    final EntityManager entityManager;
+    final Validator validator;
+
+    CatalogImportService(
+                    GamesRepository gamesRepository,
+                    CustomersRepository customersRepository,
+                    CustomersCpfFilter customersCpfFilter,
+                    PlatformTransactionManager transactionManager,
+                    EntityManager entityManager,
+                    Validator validator) {
+        this.gamesRepository = gamesRepository;
+        this.customersRepository = customersRepository;
+        this.customersCpfFilter = customersCpfFilter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.validator = validator;
+    }
+
+    public ImportReportDTO importGamesCsv(Reader csv) {
+        return importGames(CsvRecords.parse(csv).stream()
+            .map(record -> new GamesDTO(
+                record.get("name"),
+                record.get("image"),
+                CsvRecords.toInteger(record.get("stockTotal")),
+                CsvRecords.toInteger(record.get("pricePerDay"))))
+            .toList());
+    }
+
+    public ImportReportDTO importGames(List<GamesDTO> rows) {
+        return importRows(
+            rows,
+            GamesDTO::getName,
+            "Item with this name already exists.",
+            null,
+            gamesRepository::findNamesIn,
+            accepted -> gamesRepository.saveAll(accepted.stream().map(GamesModel::new).toList()));
+    }
+
+    public ImportReportDTO importCustomersCsv(Reader csv) {
+        return importCustomers(CsvRecords.parse(csv).stream()
+            .map(record -> new CustomersDTO(record.get("name"), record.get("phone"), record.get("cpf")))
+            .toList());
+    }
+
+    public ImportReportDTO importCustomers(List<CustomersDTO> rows) {
+        return importRows(
+            rows,
+            CustomersDTO::getCpf,
+            "Customer with this CPF already exists",
+            CustomersModel.CPF_CONSTRAINT,
+            this::findKnownCpfs,
+            accepted -> {
+                customersRepository.saveAll(accepted.stream().map(CustomersModel::new).toList());
+                accepted.forEach(customer -> customersCpfFilter.add(customer.getCpf()));
+            });
+    }
+
+    private Set<String> findKnownCpfs(Collection<String> cpfs) {
+        List<String> candidates = cpfs.stream().filter(customersCpfFilter::mightContain).toList();
+        return candidates.isEmpty() ? Set.of() : customersRepository.findCpfsIn(candidates);
+    }
+
+    private <T> ImportReportDTO importRows(
+                    List<T> rows,
+                    Function<T, String> key,
+                    String duplicateReason,
+                    String uniqueConstraint,
+                    Function<Collection<String>, Set<String>> existingKeys,
+                    Consumer<List<T>> save) {
+        long started = System.nanoTime();
+        List<ImportRejectionDTO> rejections = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int imported = 0;
+
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            Chunk<T> chunk = new Chunk<>(rows.subList(from, Math.min(rows.size(), from + CHUNK_SIZE)), from, key, seen);
+            try {
+                imported += transactionTemplate.execute(status -> {
+                    List<T> accepted = chunk.accept(existingKeys, duplicateReason).stream().map(chunk.rows::get).toList();
+                    save.accept(accepted);
+                    entityManager.flush();
+                    entityManager.clear();
+                    return accepted.size();
+                });
+            } catch (RuntimeException exception) {
+                if (!violates(exception, uniqueConstraint)) {
+                    throw exception;
+                }
+                imported += importOneByOne(chunk, duplicateReason, uniqueConstraint, existingKeys, save);
+            }
+            rejections.addAll(chunk.rejections);
+            seen.addAll(chunk.seen);
+        }
+
+        rejections.sort(Comparator.comparing(ImportRejectionDTO::getRow));
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        double rowsPerSecond = rows.size() * 1000.0 / elapsedMillis;
+        return new ImportReportDTO(rows.size(), imported, rejections.size(), elapsedMillis, rowsPerSecond, rejections);
+    }
+
+    private <T> int importOneByOne(
+                    Chunk<T> chunk,
+                    String duplicateReason,
+                    String uniqueConstraint,
+                    Function<Collection<String>, Set<String>> existingKeys,
+                    Consumer<List<T>> save) {
+        chunk.reset();
+        int imported = 0;
+        for (int index : chunk.accept(existingKeys, duplicateReason)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    save.accept(List.of(chunk.rows.get(index)));
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                imported++;
+            } catch (RuntimeException exception) {
+                if (!violates(exception, uniqueConstraint)) {
+                    throw exception;
+                }
+                chunk.reject(index, duplicateReason);
+            }
+        }
+        return imported;
+    }
+
+    private static boolean violates(RuntimeException exception, String constraint) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return constraint != null && constraint.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+
+    // The rows of one chunk with the rejections and keys it found, which only join
+    // the report once the chunk has been saved.
+    private final class Chunk<T> {
+
+        final List<T> rows;
+        final int offset;
+        final Function<T, String> key;
+        final Set<String> previous;
+        final List<ImportRejectionDTO> rejections = new ArrayList<>();
+        final Set<String> seen = new HashSet<>();
+
+        Chunk(List<T> rows, int offset, Function<T, String> key, Set<String> previous) {
+            this.rows = rows;
+            this.offset = offset;
+            this.key = key;
+            this.previous = previous;
+        }
+
+        // One set-based duplicate query for the whole chunk; returns the indexes of
+        // the rows to save.
+        List<Integer> accept(Function<Collection<String>, Set<String>> existingKeys, String duplicateReason) {
+            Set<String> existing = existingKeys.apply(
+                rows.stream().map(key).filter(Objects::nonNull).distinct().toList());
+
+            List<Integer> accepted = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                T row = rows.get(i);
+                Set<ConstraintViolation<T>> violations = validator.validate(row);
+                String value = key.apply(row);
+                if (!violations.isEmpty()) {
+                    reject(i, describe(violations));
+                } else if (existing.contains(value) || previous.contains(value) || !seen.add(value)) {
+                    reject(i, duplicateReason);
+                } else {
+                    accepted.add(i);
+                }
+            }
+            return accepted;
+        }
+
+        void reject(int index, String reason) {
+            rejections.add(new ImportRejectionDTO(offset + index + 1, reason));
+        }
+
+        void reset() {
+            rejections.clear();
+            seen.clear();
+        }
+    }
+
+    private static <T> String describe(Set<ConstraintViolation<T>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+}
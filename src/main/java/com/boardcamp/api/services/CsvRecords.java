@@ -0,0 +1,95 @@
+package com.boardcamp.api.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Minimal RFC 4180 reader: the first record is the header, fields may be quoted,
+// and quotes inside quoted fields are doubled. Records are keyed by header name.
+public final class CsvRecords {
+
+    private CsvRecords() {
+    }
+
+    public static List<Map<String, String>> parse(Reader source) {
+        try (BufferedReader reader = new BufferedReader(source)) {
+            List<String> header = readRecord(reader);
+            if (header == null) {
+                return List.of();
+            }
+            header.replaceAll(String::trim);
+
+            List<Map<String, String>> records = new ArrayList<>();
+            List<String> fields;
+            while ((fields = readRecord(reader)) != null) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                Map<String, String> record = new HashMap<>();
+                for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                    record.put(header.get(i), fields.get(i).trim());
+                }
+                records.add(record);
+            }
+            return records;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public static Integer toInteger(String value) {
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+
+    private static List<String> readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            line = reader.readLine();
+            if (line == null) {
+                break;
+            }
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
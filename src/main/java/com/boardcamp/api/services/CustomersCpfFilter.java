@@ -0,0 +1,94 @@
+package com.boardcamp.api.services;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.api.repositories.CustomersRepository;
+
+// Bloom filter over every known CPF. A negative answer is definite, so signups
+// with a new CPF skip the existsByCpf query; a positive answer may be a false
+// positive and falls back to the database. The unique constraint on cpf remains
+// the final arbiter when two signups race.
+@Service
+public class CustomersCpfFilter {
+
+    final CustomersRepository customersRepository;
+    final TransactionTemplate transactionTemplate;
+    final AtomicLongArray bits;
+    final int bitCount;
+    final int hashCount;
+    volatile boolean loaded;
+
+    CustomersCpfFilter(
+                    CustomersRepository customersRepository,
+                    PlatformTransactionManager transactionManager,
+                    @Value("${boardcamp.customers.cpf-filter.expected-insertions:1000000}") int expectedInsertions,
+                    @Value("${boardcamp.customers.cpf-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.customersRepository = customersRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, optimalBits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> cpfs = customersRepository.streamAllCpfs()) {
+                cpfs.forEach(this::add);
+            }
+        });
+        loaded = true;
+    }
+
+    // Until the filter has been loaded every CPF is treated as possibly known.
+    public boolean mightContain(String cpf) {
+        if (!loaded) {
+            return true;
+        }
+        long hash = hash(cpf);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(String cpf) {
+        long hash = hash(cpf);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            bits.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+        }
+    }
+
+    private static long hash(String cpf) {
+        long hash = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            hash = hash * 31 + cpf.charAt(i);
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -2,39 +2,97 @@ package com.boardcamp.api.services;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.boardcamp.api.dtos.CustomersDTO;
+import com.boardcamp.api.dtos.CustomersFilterDTO;
+import com.boardcamp.api.dtos.CustomersPageDTO;
 import com.boardcamp.api.exceptions.CustomersIdConflictException;
 import com.boardcamp.api.exceptions.ExistsByCpfConflictException;
 import com.boardcamp.api.models.CustomersModel;
 import com.boardcamp.api.repositories.CustomersRepository;
+import com.boardcamp.api.repositories.CustomersSpecifications;
+
+import io.micrometer.core.annotation.Timed;
+
+import jakarta.persistence.EntityManager;
 
 @Service
+@Timed(value = "boardcamp.service", histogram = true)
 public class CustomersService {
+
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
     
     final CustomersRepository customersRepository;
-    CustomersService(CustomersRepository customersRepository) {
+    final CustomersCpfFilter customersCpfFilter;
+    final EntityManager entityManager;
+    CustomersService(
+                    CustomersRepository customersRepository,
+                    CustomersCpfFilter customersCpfFilter,
+                    EntityManager entityManager) {
         this.customersRepository = customersRepository;
+        this.customersCpfFilter = customersCpfFilter;
+        this.entityManager = entityManager;
     }
 
     public List<CustomersModel> getCustomers() {
         return customersRepository.findAll();
     }
 
+    public CustomersPageDTO searchCustomers(CustomersFilterDTO filter) {
+        int limit = filter.getLimit() == null ? DEFAULT_SEARCH_LIMIT : filter.getLimit();
+        List<CustomersModel> customers = customersRepository.findBy(
+            CustomersSpecifications.matching(filter),
+            query -> query.sortBy(Sort.by("id")).limit(limit + 1).all());
+
+        if (customers.size() <= limit) {
+            return new CustomersPageDTO(customers, null);
+        }
+
+        List<CustomersModel> page = customers.subList(0, limit);
+        return new CustomersPageDTO(page, page.get(limit - 1).getId());
+    }
+
+    @Transactional(readOnly = true)
+    public void streamCustomers(Consumer<CustomersModel> consumer) {
+        try (Stream<CustomersModel> customers = customersRepository.streamAll()) {
+            customers.forEach(customer -> {
+                consumer.accept(customer);
+                entityManager.detach(customer);
+            });
+        }
+    }
+
     public Optional<CustomersModel> getCustomersById(Long id) {
         return customersRepository.findById(id);
     }
 
     public Optional<CustomersModel> postCustomers(CustomersDTO body) {
 
-        if (customersRepository.existsByCpf(body.getCpf())) {
+        if (customersCpfFilter.mightContain(body.getCpf()) && customersRepository.existsByCpf(body.getCpf())) {
             throw new ExistsByCpfConflictException("Customer with this CPF already exists");
         }
 
         CustomersModel customer = new CustomersModel(body);
-        customersRepository.save(customer);
+        // Flushed here so a CPF race surfaces inside this try even when the call
+        // joins an outer transaction, as it does under IdempotencyService.
+        try {
+            customersRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException exception) {
+            if (exception.getCause() instanceof ConstraintViolationException violation
+                    && CustomersModel.CPF_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                throw new ExistsByCpfConflictException("Customer with this CPF already exists");
+            }
+            throw exception;
+        }
+        customersCpfFilter.add(customer.getCpf());
         return Optional.of(customer);
     }
 }
@@ -0,0 +1,263 @@
+package com.boardcamp.api.services;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.repositories.GamesRepository;
+import com.boardcamp.api.repositories.GamesRepository.RentedCount;
+import com.boardcamp.api.repositories.RentalsRepository;
+import com.boardcamp.api.repositories.RentalsRepository.OpenRentalsCount;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Copies are reserved with a conditional update of GamesModel.rentedCount, which
+// the database applies atomically under the game's row lock, so concurrent
+// rentals can never oversell. The in-memory counters mirror committed rentedCount
+// values but are only a hint: reactive rentals and other instances change rentedCount
+// without them. A counter that says sold out is checked against the row with a plain
+// read, which spares sold-out games the row lock of the conditional update.
+@Service
+public class GamesAvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GamesAvailabilityService.class);
+
+    final GamesRepository gamesRepository;
+    final RentalsRepository rentalsRepository;
+    final TransactionTemplate transactionTemplate;
+    final Map<Long, Copies> rentedCopies = new ConcurrentHashMap<>();
+
+    final Counter reserved;
+    final Counter soldOut;
+    final Timer reservationLock;
+
+    GamesAvailabilityService(
+                    GamesRepository gamesRepository,
+                    RentalsRepository rentalsRepository,
+                    PlatformTransactionManager transactionManager,
+                    MeterRegistry meterRegistry) {
+        this.gamesRepository = gamesRepository;
+        this.rentalsRepository = rentalsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reserved = reservations(meterRegistry, "reserved");
+        this.soldOut = reservations(meterRegistry, "sold_out");
+        this.reservationLock = Timer.builder("boardcamp.rentals.reservation.lock")
+            .description("Time spent in the conditional stock update, including row lock waits")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    // Seeds every counter from a single grouped query; drift between rentedCount and
+    // the open rentals is left to the scheduled reconcile.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (RentedCount count : gamesRepository.findRentedCounts()) {
+            rentedCopies.putIfAbsent(count.getGameId(), new Copies(count.getRentedCount()));
+        }
+    }
+
+    public boolean reserve(GamesModel game) {
+        Copies copies = counter(game);
+        if (copies.get() >= game.getStockTotal() && !hasFreeCopy(game, copies)) {
+            soldOut.increment();
+            return false;
+        }
+
+        int updated = reservationLock.record(() -> gamesRepository.reserveCopy(game.getId()));
+        // The caller rolls back on a sold-out game, so a stale-low counter is left for
+        // reconcile to correct rather than to an afterCommit hook that would never run.
+        if (updated == 0) {
+            soldOut.increment();
+            return false;
+        }
+
+        reserved.increment();
+        afterCommit(game, current -> current + 1);
+        return true;
+    }
+
+    private boolean hasFreeCopy(GamesModel game, Copies copies) {
+        long stamp = copies.stamp();
+        int rentedCount = gamesRepository.findRentedCountById(game.getId()).orElse(game.getStockTotal());
+        copies.reset(stamp, rentedCount);
+        return rentedCount < game.getStockTotal();
+    }
+
+    // For callers that already hold the game's row lock (findAllByIdForUpdate):
+    // grants up to the copies left and bumps rentedCount on the managed entity.
+    public int reserveLocked(GamesModel game, int requested) {
+        int granted = Math.max(0, Math.min(requested, game.getStockTotal() - game.getRentedCount()));
+        if (granted < requested) {
+            soldOut.increment(requested - granted);
+        }
+        if (granted == 0) {
+            return 0;
+        }
+
+        reserved.increment(granted);
+        afterCommit(game, current -> current + granted);
+        game.setRentedCount(game.getRentedCount() + granted);
+        return granted;
+    }
+
+    public void release(GamesModel game) {
+        release(game, 1);
+    }
+
+    public void release(GamesModel game, int copies) {
+        if (gamesRepository.releaseCopies(game.getId(), copies) > 0) {
+            afterCommit(game, current -> Math.max(0, current - copies));
+        }
+    }
+
+    // Reactive rentals commit through R2DBC, outside Spring's transaction
+    // synchronization, so ReactiveRentalsService brackets each transaction itself: the
+    // counter stays in flight, and out of reconcile's reach, from before the write
+    // until its delta is applied. Null for a game that has no counter yet; that one is
+    // seeded from the row when it is first needed.
+    Copies track(Long gameId) {
+        Copies copies = rentedCopies.get(gameId);
+        if (copies != null) {
+            copies.begin();
+        }
+        return copies;
+    }
+
+    public int getRentedCopies(Long gameId) {
+        Copies copies = rentedCopies.get(gameId);
+        return copies == null ? 0 : copies.get();
+    }
+
+    // Drift is detected with two cheap grouped queries; each mismatched game is then
+    // recounted while holding its row lock, so no reservation can be in flight and
+    // every committed rental is visible to the count. The snapshot only replaces a
+    // counter that had no commit in flight and no change applied since before the
+    // queries ran; any other counter is left for the next pass.
+    @Scheduled(
+        fixedDelayString = "${boardcamp.availability.reconcile-interval:PT5M}",
+        initialDelayString = "${boardcamp.availability.reconcile-interval:PT5M}")
+    public void reconcile() {
+        Map<Long, Long> stamps = new HashMap<>();
+        rentedCopies.forEach((gameId, copies) -> stamps.put(gameId, copies.stamp()));
+
+        Map<Long, Long> openRentals = new HashMap<>();
+        for (OpenRentalsCount count : rentalsRepository.countOpenRentalsByGame()) {
+            openRentals.put(count.getGameId(), count.getOpenRentals());
+        }
+
+        for (RentedCount count : gamesRepository.findRentedCounts()) {
+            int rentedCount = count.getRentedCount();
+            if (openRentals.getOrDefault(count.getGameId(), 0L) != rentedCount) {
+                rentedCount = recount(count.getGameId());
+            }
+            Long stamp = stamps.get(count.getGameId());
+            if (stamp == null) {
+                rentedCopies.putIfAbsent(count.getGameId(), new Copies(rentedCount));
+            } else {
+                rentedCopies.get(count.getGameId()).reset(stamp, rentedCount);
+            }
+        }
+    }
+
+    private int recount(Long gameId) {
+        return transactionTemplate.execute(status -> {
+            GamesModel game = gamesRepository.findByIdForUpdate(gameId).orElseThrow();
+            int openRentals = rentalsRepository.countByGameIdAndReturnDateIsNull(gameId);
+            if (game.getRentedCount() != openRentals) {
+                logger.warn("Rented copies of game {} drifted from {} to {}; corrected.",
+                    gameId, game.getRentedCount(), openRentals);
+                gamesRepository.setRentedCount(gameId, openRentals);
+            }
+            return openRentals;
+        });
+    }
+
+    private Copies counter(GamesModel game) {
+        return rentedCopies.computeIfAbsent(game.getId(), id -> new Copies(game.getRentedCount()));
+    }
+
+    private void afterCommit(GamesModel game, IntUnaryOperator update) {
+        Copies copies = counter(game);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            copies.apply(update);
+            return;
+        }
+        copies.begin();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                copies.apply(update);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                copies.end();
+            }
+        });
+    }
+
+    // Rented copies of one game, plus what reconcile needs to tell whether a snapshot
+    // is still current: transactions that changed rentedCount but have not completed
+    // yet, and a count of deltas applied so far.
+    static final class Copies {
+
+        private int rented;
+        private int inFlight;
+        private long changes;
+
+        Copies(int rented) {
+            this.rented = rented;
+        }
+
+        synchronized int get() {
+            return rented;
+        }
+
+        synchronized void begin() {
+            inFlight++;
+        }
+
+        synchronized void apply(IntUnaryOperator update) {
+            rented = update.applyAsInt(rented);
+            changes++;
+        }
+
+        synchronized void end() {
+            inFlight--;
+        }
+
+        synchronized long stamp() {
+            return inFlight == 0 ? changes : -1;
+        }
+
+        synchronized boolean reset(long stamp, int rented) {
+            if (stamp < 0 || inFlight > 0 || changes != stamp) {
+                return false;
+            }
+            this.rented = rented;
+            return true;
+        }
+    }
+
+    private static Counter reservations(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("boardcamp.rentals.reservations")
+            .description("Stock reservation attempts by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
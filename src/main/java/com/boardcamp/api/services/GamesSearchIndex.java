@@ -0,0 +1,207 @@
+package com.boardcamp.api.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.repositories.GamesRepository;
+
+// In-memory name index for GET /games?name=. Words of each normalized name live in
+// a sorted map, so a prefix lookup is a range scan; names are also split into
+// trigrams, which back a fuzzy fallback when prefixes find too few games.
+// GamesSearchListener keeps the index in step with committed inserts and deletes.
+@Service
+public class GamesSearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    private static final int MAX_PREFIX_CANDIDATES = 5000;
+    private static final double MIN_SIMILARITY = 0.35;
+
+    final GamesRepository gamesRepository;
+    final TransactionTemplate transactionTemplate;
+    final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    final ConcurrentNavigableMap<String, Set<Long>> words = new ConcurrentSkipListMap<>();
+    final Map<String, Set<Long>> trigrams = new ConcurrentHashMap<>();
+
+    GamesSearchIndex(GamesRepository gamesRepository, PlatformTransactionManager transactionManager) {
+        this.gamesRepository = gamesRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<GamesModel> games = gamesRepository.streamAll()) {
+                games.forEach(this::add);
+            }
+        });
+    }
+
+    // Returns false, leaving the index as it was, when the game is already indexed
+    // with the same catalog fields.
+    public boolean add(GamesModel game) {
+        GamesModel snapshot = new GamesModel(
+            game.getId(), game.getName(), game.getImage(), game.getStockTotal(), game.getPricePerDay());
+        Entry current = entries.get(game.getId());
+        if (current != null && current.game().equals(snapshot)) {
+            return false;
+        }
+        remove(game.getId());
+
+        Entry entry = new Entry(snapshot, normalize(game.getName()));
+        entries.put(game.getId(), entry);
+        for (String word : entry.words()) {
+            words.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(game.getId());
+        }
+        for (String trigram : entry.trigrams()) {
+            trigrams.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(game.getId());
+        }
+        return true;
+    }
+
+    public void remove(Long gameId) {
+        Entry entry = entries.remove(gameId);
+        if (entry == null) {
+            return;
+        }
+        for (String word : entry.words()) {
+            words.computeIfPresent(word, (key, ids) -> ids.remove(gameId) && ids.isEmpty() ? null : ids);
+        }
+        for (String trigram : entry.trigrams()) {
+            trigrams.computeIfPresent(trigram, (key, ids) -> ids.remove(gameId) && ids.isEmpty() ? null : ids);
+        }
+    }
+
+    public List<GamesModel> search(String name, int limit) {
+        String query = normalize(name);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+
+        List<Match> matches = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (Long id : prefixCandidates(query)) {
+            Entry entry = entries.get(id);
+            if (entry != null && seen.add(id)) {
+                matches.add(new Match(entry, prefixScore(entry, query)));
+            }
+        }
+
+        if (matches.size() < limit && query.length() >= 3) {
+            fuzzyMatches(query, seen, matches);
+        }
+
+        return matches.stream()
+            .sorted(Comparator.comparingDouble(Match::score)
+                .thenComparingInt(match -> match.entry().name().length())
+                .thenComparing(match -> match.entry().game().getId()))
+            .limit(limit)
+            .map(match -> match.entry().game())
+            .toList();
+    }
+
+    // Every query word must prefix some word of the name; the scan of the rarest
+    // word's range is capped so one-letter queries stay cheap on large catalogs.
+    private Set<Long> prefixCandidates(String query) {
+        String[] queryWords = query.split(" ");
+        List<Set<Long>> postings = new ArrayList<>(queryWords.length);
+        for (String word : new LinkedHashSet<>(Arrays.asList(queryWords))) {
+            Set<Long> ids = new HashSet<>();
+            for (Set<Long> posting : words.subMap(word, word + Character.MAX_VALUE).values()) {
+                ids.addAll(posting);
+                if (ids.size() >= MAX_PREFIX_CANDIDATES) {
+                    break;
+                }
+            }
+            if (ids.isEmpty()) {
+                return Set.of();
+            }
+            postings.add(ids);
+        }
+
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> candidates = postings.get(0);
+        for (int i = 1; i < postings.size(); i++) {
+            candidates.retainAll(postings.get(i));
+        }
+        return candidates;
+    }
+
+    private void fuzzyMatches(String query, Set<Long> seen, List<Match> matches) {
+        Set<String> queryTrigrams = trigramsOf(query);
+        Map<Long, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (Long id : trigrams.getOrDefault(trigram, Set.of())) {
+                shared.merge(id, 1, Integer::sum);
+            }
+        }
+
+        shared.forEach((id, count) -> {
+            Entry entry = entries.get(id);
+            if (entry == null || seen.contains(id)) {
+                return;
+            }
+            double similarity = 2.0 * count / (queryTrigrams.size() + entry.trigrams().size());
+            if (similarity >= MIN_SIMILARITY) {
+                matches.add(new Match(entry, 4 - similarity));
+            }
+        });
+    }
+
+    private static double prefixScore(Entry entry, String query) {
+        if (entry.name().equals(query)) {
+            return 0;
+        }
+        if (entry.name().startsWith(query)) {
+            return 1;
+        }
+        return 2;
+    }
+
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String lowerCase = MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(lowerCase).replaceAll(" ").trim();
+    }
+
+    private static Set<String> trigramsOf(String normalized) {
+        String padded = " " + normalized + " ";
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    record Entry(GamesModel game, String name, Set<String> words, Set<String> trigrams) {
+
+        Entry(GamesModel game, String name) {
+            this(game, name, name.isEmpty() ? Set.of() : Set.copyOf(Arrays.asList(name.split(" "))), trigramsOf(name));
+        }
+    }
+
+    record Match(Entry entry, double score) {
+    }
+}
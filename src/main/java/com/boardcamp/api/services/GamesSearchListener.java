@@ -0,0 +1,61 @@
+package com.boardcamp.api.services;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.boardcamp.api.models.GamesModel;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA entity listener created by Hibernate through Spring's bean container, so
+// every write path (postGames, imports, deletes) reaches the search index and the
+// catalog version once the surrounding transaction has committed. Both are looked
+// up lazily because they depend on GamesRepository, which needs the entity manager
+// factory first. Reservations update rentedCount on managed games too; those leave
+// the indexed catalog fields as they were and do not move the version.
+public class GamesSearchListener {
+
+    final ObjectProvider<GamesSearchIndex> gamesSearchIndex;
+    final ObjectProvider<GamesService> gamesService;
+    GamesSearchListener(ObjectProvider<GamesSearchIndex> gamesSearchIndex, ObjectProvider<GamesService> gamesService) {
+        this.gamesSearchIndex = gamesSearchIndex;
+        this.gamesService = gamesService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void saved(GamesModel game) {
+        GamesModel snapshot = new GamesModel(
+            game.getId(), game.getName(), game.getImage(), game.getStockTotal(), game.getPricePerDay());
+        afterCommit(() -> {
+            if (gamesSearchIndex.getObject().add(snapshot)) {
+                gamesService.getObject().catalogChanged();
+            }
+        });
+    }
+
+    @PostRemove
+    void removed(GamesModel game) {
+        Long id = game.getId();
+        afterCommit(() -> {
+            gamesSearchIndex.getObject().remove(id);
+            gamesService.getObject().catalogChanged();
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
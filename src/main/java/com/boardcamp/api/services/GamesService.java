@@ -2,8 +2,13 @@ package com.boardcamp.api.services;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.boardcamp.api.dtos.GamesDTO;
 import com.boardcamp.api.exceptions.ExistsByNameConflictException;
@@ -11,18 +16,60 @@ import com.boardcamp.api.exceptions.GamesIdConflictException;
 import com.boardcamp.api.models.GamesModel;
 import com.boardcamp.api.repositories.GamesRepository;
 
+import io.micrometer.core.annotation.Timed;
+
+import jakarta.persistence.EntityManager;
+
 @Service
+@Timed(value = "boardcamp.service", histogram = true)
 public class GamesService {
 
     final GamesRepository gamesRepository;
-    GamesService(GamesRepository gamesRepository) {
+    final GamesSearchIndex gamesSearchIndex;
+    final EntityManager entityManager;
+    final AtomicLong catalogVersion = new AtomicLong();
+    GamesService(GamesRepository gamesRepository, GamesSearchIndex gamesSearchIndex, EntityManager entityManager) {
         this.gamesRepository = gamesRepository;
+        this.gamesSearchIndex = gamesSearchIndex;
+        this.entityManager = entityManager;
     }
     
     public List<GamesModel> getGames() {
         return gamesRepository.findAll();
     }
 
+    // Reads past the catalog cache, which is evicted before a write commits and can
+    // briefly be refilled with the old catalog; the version only moves after commit.
+    // Not read-only, so it is never routed to a replica that may still lag behind.
+    @Transactional
+    public List<GamesModel> loadCatalog() {
+        return gamesRepository.findAll(Sort.by("id"));
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    // Called by GamesSearchListener once an insert, a catalog field update or a delete
+    // of a game has committed, so postGames, imports and deletes all move the version.
+    public void catalogChanged() {
+        catalogVersion.incrementAndGet();
+    }
+
+    public List<GamesModel> searchGames(String name, int limit) {
+        return gamesSearchIndex.search(name, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamGames(Consumer<GamesModel> consumer) {
+        try (Stream<GamesModel> games = gamesRepository.streamAll()) {
+            games.forEach(game -> {
+                consumer.accept(game);
+                entityManager.detach(game);
+            });
+        }
+    }
+
     public GamesModel postGames(GamesDTO body) {
 
         if (gamesRepository.existsByName(body.getName())) {
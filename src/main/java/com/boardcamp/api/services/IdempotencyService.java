@@ -0,0 +1,211 @@
+package com.boardcamp.api.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.api.exceptions.IdempotencyKeyConflictException;
+import com.boardcamp.api.exceptions.IdempotencyKeyMismatchException;
+import com.boardcamp.api.repositories.IdempotencyKeysRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Runs a creation request at most once per Idempotency-Key. A key is claimed in
+// idempotency-keys-boardcamp before the request runs, and the successful response
+// is stored in the same transaction as the rental or customer it created, so a
+// retry can never create a second one. Stored responses are also kept in a bounded
+// in-memory cache; duplicates arriving while the first is still running wait for
+// it on this instance, and get a 409 if it runs on another one. Failed requests
+// store nothing, so their retries run again. A claim is only held for the lease;
+// if it runs out and another instance takes the key over, the slower request can
+// no longer store its response and is rolled back.
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    final IdempotencyKeysRepository idempotencyKeysRepository;
+    final ObjectMapper objectMapper;
+    final TransactionTemplate transactionTemplate;
+    final Duration ttl;
+    final Duration lease;
+    final Duration waitTimeout;
+    final Cache<String, StoredResponse> responses;
+    final Map<String, CompletableFuture<Void>> running = new ConcurrentHashMap<>();
+
+    IdempotencyService(
+                    IdempotencyKeysRepository idempotencyKeysRepository,
+                    ObjectMapper objectMapper,
+                    PlatformTransactionManager transactionManager,
+                    MeterRegistry meterRegistry,
+                    @Value("${boardcamp.idempotency.ttl:24h}") Duration ttl,
+                    @Value("${boardcamp.idempotency.lease:1m}") Duration lease,
+                    @Value("${boardcamp.idempotency.wait-timeout:30s}") Duration waitTimeout,
+                    @Value("${boardcamp.idempotency.max-entries:10000}") long maxEntries) {
+        this.idempotencyKeysRepository = idempotencyKeysRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotencyKeys");
+    }
+
+    record StoredResponse(String requestHash, int status, String body) {
+    }
+
+    public ResponseEntity<?> execute(String endpoint, String key, Object request, Supplier<ResponseEntity<?>> action) {
+        String id = endpoint + " " + key;
+        String requestHash = hash(request);
+
+        while (true) {
+            StoredResponse stored = responses.getIfPresent(id);
+            if (stored != null) {
+                return replay(stored, requestHash);
+            }
+
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> other = running.putIfAbsent(id, mine);
+            if (other != null) {
+                await(other);
+                continue;
+            }
+            try {
+                return executeOnce(id, requestHash, action);
+            } finally {
+                running.remove(id, mine);
+                mine.complete(null);
+            }
+        }
+    }
+
+    // Expired keys are also reclaimed on use; this only keeps the table small.
+    @Scheduled(
+        fixedDelayString = "${boardcamp.idempotency.cleanup-interval:PT10M}",
+        initialDelayString = "${boardcamp.idempotency.cleanup-interval:PT10M}")
+    public void deleteExpired() {
+        int deleted = transactionTemplate.execute(status -> idempotencyKeysRepository.deleteExpired(Instant.now()));
+        if (deleted > 0) {
+            logger.info("Deleted {} expired idempotency keys.", deleted);
+        }
+    }
+
+    private ResponseEntity<?> executeOnce(String id, String requestHash, Supplier<ResponseEntity<?>> action) {
+        Instant now = Instant.now();
+        String owner = UUID.randomUUID().toString();
+        boolean claimed = transactionTemplate.execute(status ->
+            idempotencyKeysRepository.claim(id, requestHash, owner, now.plus(lease), now.plus(ttl)) == 1
+                || idempotencyKeysRepository.reclaim(id, requestHash, owner, now.plus(lease), now.plus(ttl), now) == 1);
+
+        if (!claimed) {
+            StoredResponse stored = idempotencyKeysRepository.findById(id)
+                .filter(key -> key.getStatus() != null)
+                .map(key -> new StoredResponse(key.getRequestHash(), key.getStatus(), key.getBody()))
+                .orElseThrow(() -> new IdempotencyKeyConflictException(
+                    "A request with this Idempotency-Key is still being processed."));
+            responses.put(id, stored);
+            return replay(stored, requestHash);
+        }
+
+        StoredResponse[] stored = {null};
+        boolean committed = false;
+        try {
+            ResponseEntity<?> response = transactionTemplate.execute(status -> {
+                ResponseEntity<?> result = action.get();
+                if (result.getStatusCode().is2xxSuccessful()) {
+                    stored[0] = new StoredResponse(requestHash, result.getStatusCode().value(), json(result.getBody()));
+                    // Another instance took the key over after the lease ran out; throwing
+                    // rolls this request's writes back so only one of them takes effect.
+                    if (idempotencyKeysRepository.complete(id, owner, stored[0].status(), stored[0].body()) == 0) {
+                        throw new IdempotencyKeyConflictException(
+                            "A request with this Idempotency-Key is still being processed.");
+                    }
+                }
+                return result;
+            });
+            committed = true;
+            if (stored[0] != null) {
+                responses.put(id, stored[0]);
+            }
+            return response;
+        } finally {
+            if (!committed || stored[0] == null) {
+                transactionTemplate.executeWithoutResult(status -> idempotencyKeysRepository.release(id, owner));
+            }
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key was already used with a different request.");
+        }
+        return ResponseEntity.status(stored.status())
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(REPLAYED_HEADER, "true")
+            .body(stored.body());
+    }
+
+    private void await(CompletableFuture<Void> other) {
+        try {
+            other.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            throw new IdempotencyKeyConflictException("A request with this Idempotency-Key is still being processed.");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyConflictException("A request with this Idempotency-Key is still being processed.");
+        } catch (ExecutionException exception) {
+            // Never completed exceptionally.
+        }
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
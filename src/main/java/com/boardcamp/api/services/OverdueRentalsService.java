@@ -0,0 +1,154 @@
+package com.boardcamp.api.services;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.api.dtos.OverdueRentalsDTO;
+import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.repositories.RentalsRepository;
+import com.boardcamp.api.repositories.RentalsRepository.OverdueTotal;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Keeps the fees accrued by open overdue rentals without rescanning them. The
+// figures are as of asOf: every open rental due before it is counted. Each scan
+// rolls the total forward by the daily accrual and adds only the rentals whose due
+// date fell in [asOf, today); returns subtract what the rental had accrued. A
+// periodic rebuild recounts everything, correcting drift from returns that raced
+// with a scan.
+@Service
+public class OverdueRentalsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueRentalsService.class);
+
+    final RentalsRepository rentalsRepository;
+    final TransactionTemplate transactionTemplate;
+
+    private LocalDate asOf;
+    private long overdueRentals;
+    private long dailyAccrual;
+    private long accruedFees;
+
+    OverdueRentalsService(
+                    RentalsRepository rentalsRepository,
+                    PlatformTransactionManager transactionManager,
+                    MeterRegistry meterRegistry) {
+        this.rentalsRepository = rentalsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("boardcamp.rentals.overdue", this, service -> service.snapshot().getOverdueRentals())
+            .description("Open rentals past their due date")
+            .register(meterRegistry);
+        Gauge.builder("boardcamp.rentals.overdue.accrued.fees", this, service -> service.snapshot().getAccruedFees())
+            .description("Delay fees accrued so far by open overdue rentals")
+            .register(meterRegistry);
+    }
+
+    // Rentals created before dueDate existed get it filled in once.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int filled = transactionTemplate.execute(status -> rentalsRepository.fillMissingDueDates());
+        if (filled > 0) {
+            logger.info("Filled in the due date of {} rentals.", filled);
+        }
+        rebuild();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${boardcamp.rentals.overdue.rebuild-interval:PT6H}",
+        initialDelayString = "${boardcamp.rentals.overdue.rebuild-interval:PT6H}")
+    public void rebuild() {
+        rebuild(LocalDate.now());
+    }
+
+    public synchronized void rebuild(LocalDate today) {
+        overdueRentals = 0;
+        dailyAccrual = 0;
+        accruedFees = 0;
+        add(rentalsRepository.sumOverdueByDueDate(today), today);
+        asOf = today;
+    }
+
+    @Scheduled(
+        fixedDelayString = "${boardcamp.rentals.overdue.scan-interval:PT1M}",
+        initialDelayString = "${boardcamp.rentals.overdue.scan-interval:PT1M}")
+    public void scan() {
+        scan(LocalDate.now());
+    }
+
+    public synchronized void scan(LocalDate today) {
+        if (asOf == null) {
+            rebuild(today);
+            return;
+        }
+        if (!today.isAfter(asOf)) {
+            return;
+        }
+
+        accruedFees += dailyAccrual * ChronoUnit.DAYS.between(asOf, today);
+        add(rentalsRepository.sumOverdueByDueDateBetween(asOf, today), today);
+        asOf = today;
+    }
+
+    // Called with a rental that has just been marked returned; applied once the
+    // surrounding transaction commits.
+    public void returned(RentalsModel rental) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(rental);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove(rental);
+            }
+        });
+    }
+
+    public OverdueRentalsDTO getOverdueRentals(int limit) {
+        OverdueRentalsDTO overdue;
+        synchronized (this) {
+            if (asOf == null) {
+                rebuild(LocalDate.now());
+            }
+            overdue = snapshot();
+        }
+        overdue.setRentals(rentalsRepository.findOverdue(overdue.getAsOf(), Limit.of(limit)));
+        return overdue;
+    }
+
+    synchronized OverdueRentalsDTO snapshot() {
+        return new OverdueRentalsDTO(asOf, overdueRentals, dailyAccrual, accruedFees, List.of());
+    }
+
+    private synchronized void remove(RentalsModel rental) {
+        if (asOf == null || rental.getDueDate() == null || !rental.getDueDate().isBefore(asOf)) {
+            return;
+        }
+        int pricePerDay = rental.getGame().getPricePerDay();
+        overdueRentals--;
+        dailyAccrual -= pricePerDay;
+        accruedFees -= pricePerDay * ChronoUnit.DAYS.between(rental.getDueDate(), asOf);
+    }
+
+    private void add(List<OverdueTotal> totals, LocalDate today) {
+        for (OverdueTotal total : totals) {
+            overdueRentals += total.getRentals();
+            dailyAccrual += total.getDailyFee();
+            accruedFees += total.getDailyFee() * ChronoUnit.DAYS.between(total.getDueDate(), today);
+        }
+    }
+}
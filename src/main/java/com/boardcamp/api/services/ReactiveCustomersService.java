@@ -0,0 +1,78 @@
+package com.boardcamp.api.services;
+
+import java.util.Locale;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.boardcamp.api.dtos.CustomersDTO;
+import com.boardcamp.api.dtos.CustomersFilterDTO;
+import com.boardcamp.api.dtos.CustomersPageDTO;
+import com.boardcamp.api.exceptions.CustomersIdConflictException;
+import com.boardcamp.api.exceptions.ExistsByCpfConflictException;
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.repositories.ReactiveCustomersRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveCustomersService {
+
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    final ReactiveCustomersRepository customersRepository;
+    final CustomersCpfFilter customersCpfFilter;
+    ReactiveCustomersService(ReactiveCustomersRepository customersRepository, CustomersCpfFilter customersCpfFilter) {
+        this.customersRepository = customersRepository;
+        this.customersCpfFilter = customersCpfFilter;
+    }
+
+    public Flux<CustomersModel> getCustomers() {
+        return customersRepository.findAll();
+    }
+
+    public Mono<CustomersPageDTO> searchCustomers(CustomersFilterDTO filter) {
+        int limit = filter.getLimit() == null ? DEFAULT_SEARCH_LIMIT : filter.getLimit();
+        return customersRepository.findMatching(filter, limit + 1)
+            .collectList()
+            .map(customers -> {
+                if (customers.size() <= limit) {
+                    return new CustomersPageDTO(customers, null);
+                }
+                return new CustomersPageDTO(customers.subList(0, limit), customers.get(limit - 1).getId());
+            });
+    }
+
+    public Mono<CustomersModel> getCustomersById(Long id) {
+        return customersRepository.findById(id)
+            .switchIfEmpty(Mono.error(() -> new CustomersIdConflictException("Customer ID does not exist.")));
+    }
+
+    public Mono<CustomersModel> postCustomers(CustomersDTO body) {
+        Mono<Boolean> exists = customersCpfFilter.mightContain(body.getCpf())
+            ? customersRepository.existsByCpf(body.getCpf())
+            : Mono.just(false);
+
+        return exists
+            .flatMap(found -> {
+                if (found) {
+                    return Mono.error(new ExistsByCpfConflictException("Customer with this CPF already exists"));
+                }
+                return customersRepository.insert(new CustomersModel(body));
+            })
+            .onErrorMap(ReactiveCustomersService::isCpfViolation,
+                exception -> new ExistsByCpfConflictException("Customer with this CPF already exists"))
+            .doOnNext(customer -> customersCpfFilter.add(customer.getCpf()));
+    }
+
+    // R2DBC drivers only report the violated constraint in the message.
+    private static boolean isCpfViolation(Throwable exception) {
+        return exception instanceof DataIntegrityViolationException
+            && exception.getMessage() != null
+            && exception.getMessage().toLowerCase(Locale.ROOT).contains(CustomersModel.CPF_CONSTRAINT);
+    }
+}
@@ -0,0 +1,47 @@
+package com.boardcamp.api.services;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Service;
+
+import com.boardcamp.api.dtos.GamesDTO;
+import com.boardcamp.api.exceptions.ExistsByNameConflictException;
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.repositories.ReactiveGamesRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveGamesService {
+
+    final ReactiveGamesRepository gamesRepository;
+    final GamesSearchIndex gamesSearchIndex;
+    ReactiveGamesService(ReactiveGamesRepository gamesRepository, GamesSearchIndex gamesSearchIndex) {
+        this.gamesRepository = gamesRepository;
+        this.gamesSearchIndex = gamesSearchIndex;
+    }
+
+    public Flux<GamesModel> getGames() {
+        return gamesRepository.findAll();
+    }
+
+    public List<GamesModel> searchGames(String name, int limit) {
+        return gamesSearchIndex.search(name, limit);
+    }
+
+    // Inserts bypass the JPA entity listener, so the search index is fed here.
+    public Mono<GamesModel> postGames(GamesDTO body) {
+        return gamesRepository.existsByName(body.getName())
+            .flatMap(exists -> {
+                if (exists) {
+                    return Mono.error(new ExistsByNameConflictException("Item with this name already exists."));
+                }
+                return gamesRepository.insert(new GamesModel(body));
+            })
+            .doOnNext(gamesSearchIndex::add);
+    }
+}
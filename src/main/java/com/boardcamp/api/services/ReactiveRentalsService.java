@@ -0,0 +1,154 @@
+package com.boardcamp.api.services;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.boardcamp.api.dtos.RentalsDTO;
+import com.boardcamp.api.dtos.RentalsFilterDTO;
+import com.boardcamp.api.dtos.RentalsPageDTO;
+import com.boardcamp.api.exceptions.CustomersIdConflictException;
+import com.boardcamp.api.exceptions.GamesIdConflictException;
+import com.boardcamp.api.exceptions.NoGamesInStockConflictException;
+import com.boardcamp.api.exceptions.RentalsIdConflictException;
+import com.boardcamp.api.exceptions.ReturnDateConflictException;
+import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.repositories.ReactiveCustomersRepository;
+import com.boardcamp.api.repositories.ReactiveGamesRepository;
+import com.boardcamp.api.repositories.ReactiveRentalsRepository;
+import com.boardcamp.api.repositories.ReactiveRevenueRollupRepository;
+
+import reactor.core.publisher.Mono;
+
+// Same rules as RentalsService. Stock is reserved with the same conditional update
+// of rentedCount, so the reactive and blocking stacks can share a database, and the
+// in-memory counters of GamesAvailabilityService are moved once a rental or return
+// has committed.
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveRentalsService {
+
+    final ReactiveRentalsRepository rentalsRepository;
+    final ReactiveGamesRepository gamesRepository;
+    final ReactiveCustomersRepository customersRepository;
+    final ReactiveRevenueRollupRepository revenueRollupRepository;
+    final OverdueRentalsService overdueRentalsService;
+    final TransactionalOperator transactionalOperator;
+    final GamesAvailabilityService gamesAvailabilityService;
+    final boolean archiveEnabled;
+    ReactiveRentalsService(
+                    ReactiveRentalsRepository rentalsRepository,
+                    ReactiveGamesRepository gamesRepository,
+                    ReactiveCustomersRepository customersRepository,
+                    ReactiveRevenueRollupRepository revenueRollupRepository,
+                    OverdueRentalsService overdueRentalsService,
+                    TransactionalOperator transactionalOperator,
+                    GamesAvailabilityService gamesAvailabilityService,
+                    @Value("${boardcamp.rentals.archive.enabled:true}") boolean archiveEnabled) {
+        this.rentalsRepository = rentalsRepository;
+        this.gamesRepository = gamesRepository;
+        this.customersRepository = customersRepository;
+        this.revenueRollupRepository = revenueRollupRepository;
+        this.overdueRentalsService = overdueRentalsService;
+        this.transactionalOperator = transactionalOperator;
+        this.gamesAvailabilityService = gamesAvailabilityService;
+        this.archiveEnabled = archiveEnabled;
+    }
+
+    public Mono<RentalsPageDTO> getRentals(RentalsFilterDTO filter) {
+        int limit = filter.getLimit();
+        return rentalsRepository.findMatching(filter, limit + 1)
+            .collectList()
+            .map(rentals -> {
+                if (rentals.size() <= limit) {
+                    return new RentalsPageDTO(rentals, null);
+                }
+                return new RentalsPageDTO(rentals.subList(0, limit), rentals.get(limit - 1).getId());
+            });
+    }
+
+    // Rentals returned long ago have been moved to the archive by RentalsArchiveService.
+    public Mono<RentalsModel> getRentalsById(Long id) {
+        return rentalsRepository.findById(id)
+            .switchIfEmpty(archiveEnabled ? rentalsRepository.findArchivedById(id) : Mono.empty())
+            .switchIfEmpty(Mono.error(() -> new RentalsIdConflictException("Rental ID does not exist.")));
+    }
+
+    public Mono<RentalsModel> postRentals(RentalsDTO body) {
+        return trackCopies(body.getGameId(), 1, gamesRepository.findById(body.getGameId())
+            .switchIfEmpty(Mono.error(() -> new GamesIdConflictException("Game ID does not exist.")))
+            .flatMap(game -> customersRepository.findById(body.getCustomerId())
+                .switchIfEmpty(Mono.error(() -> new CustomersIdConflictException("Customer ID does not exist.")))
+                .flatMap(customer -> gamesRepository.reserveCopy(game.getId())
+                    .flatMap(updated -> {
+                        if (updated == 0) {
+                            return Mono.error(new NoGamesInStockConflictException("No games available for rent."));
+                        }
+                        return rentalsRepository.insert(new RentalsModel(body, game, customer))
+                            .flatMap(rental -> revenueRollupRepository.rented(rental, 1).thenReturn(rental));
+                    })))
+            .as(transactionalOperator::transactional));
+    }
+
+    // The rental is read before the transaction to learn which game's counter to
+    // track; markReturned still only returns a rental that is open at write time.
+    public Mono<RentalsModel> updateRentals(Long id) {
+        return getRentalsById(id)
+            .flatMap(rental -> {
+                if (rental.getReturnDate() != null) {
+                    return Mono.error(new ReturnDateConflictException("Rental has already been returned."));
+                }
+
+                RentalsService.returnRental(rental, LocalDate.now());
+                return trackCopies(rental.getGame().getId(), -1, rentalsRepository.markReturned(rental)
+                    .flatMap(updated -> {
+                        if (updated == 0) {
+                            return Mono.error(new ReturnDateConflictException("Rental has already been returned."));
+                        }
+                        return gamesRepository.releaseCopies(rental.getGame().getId(), 1)
+                            .then(revenueRollupRepository.returned(rental, 1))
+                            .thenReturn(rental);
+                    })
+                    .as(transactionalOperator::transactional));
+            })
+            .doOnNext(overdueRentalsService::returned);
+    }
+
+    public Mono<Void> deleteRentals(Long id) {
+        return getRentalsById(id)
+            .flatMap(rental -> {
+                if (rental.getReturnDate() == null) {
+                    return Mono.error(new ReturnDateConflictException("Rental has not been returned yet."));
+                }
+                return rentalsRepository.deleteById(id)
+                    .flatMap(deleted -> deleted == 0 && archiveEnabled ? rentalsRepository.deleteArchivedById(id) : Mono.just(deleted))
+                    .flatMap(deleted -> {
+                        // A concurrent delete got there first and reverses the rollups itself.
+                        if (deleted == 0) {
+                            return Mono.error(new RentalsIdConflictException("Rental ID does not exist."));
+                        }
+                        return revenueRollupRepository.rented(rental, -1)
+                            .then(revenueRollupRepository.returned(rental, -1));
+                    });
+            })
+            .as(transactionalOperator::transactional);
+    }
+
+    // Subscribes to transaction, which must commit before it emits, and moves the
+    // game's in-memory counter by delta once it has.
+    private <T> Mono<T> trackCopies(Long gameId, int delta, Mono<T> transaction) {
+        return Mono.defer(() -> {
+            GamesAvailabilityService.Copies copies = gamesAvailabilityService.track(gameId);
+            if (copies == null) {
+                return transaction;
+            }
+            return transaction
+                .doOnNext(result -> copies.apply(current -> Math.max(0, current + delta)))
+                .doFinally(signal -> copies.end());
+        });
+    }
+}
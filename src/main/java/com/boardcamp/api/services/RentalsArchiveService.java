@@ -0,0 +1,166 @@
+package com.boardcamp.api.services;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.repositories.CustomersRepository;
+import com.boardcamp.api.repositories.GamesRepository;
+import com.boardcamp.api.repositories.RentalsArchiveRepository;
+import com.boardcamp.api.repositories.RentalsArchiveRepository.ArchivedRental;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.persistence.EntityManager;
+
+// Moves rentals returned more than min-age ago out of rentals-boardcamp into the
+// monthly partitions of rentals-archive-boardcamp, batch-size rows per transaction
+// and at most max-batches per run, so the hot table and its indexes only hold open
+// and recently returned rentals. RentalsService falls back to the archive by id.
+@Service
+public class RentalsArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RentalsArchiveService.class);
+
+    static final String TABLE = "rentals-archive-boardcamp";
+
+    final RentalsArchiveRepository rentalsArchiveRepository;
+    final CustomersRepository customersRepository;
+    final GamesRepository gamesRepository;
+    final EntityManager entityManager;
+    final TransactionTemplate transactionTemplate;
+    final boolean enabled;
+    final Duration minAge;
+    final int batchSize;
+    final int maxBatches;
+    final Counter archived;
+
+    RentalsArchiveService(
+                    RentalsArchiveRepository rentalsArchiveRepository,
+                    CustomersRepository customersRepository,
+                    GamesRepository gamesRepository,
+                    EntityManager entityManager,
+                    PlatformTransactionManager transactionManager,
+                    MeterRegistry meterRegistry,
+                    @Value("${boardcamp.rentals.archive.enabled:true}") boolean enabled,
+                    @Value("${boardcamp.rentals.archive.min-age:90d}") Duration minAge,
+                    @Value("${boardcamp.rentals.archive.batch-size:1000}") int batchSize,
+                    @Value("${boardcamp.rentals.archive.max-batches:100}") int maxBatches) {
+        this.rentalsArchiveRepository = rentalsArchiveRepository;
+        this.customersRepository = customersRepository;
+        this.gamesRepository = gamesRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.archived = Counter.builder("boardcamp.rentals.archived")
+            .description("Returned rentals moved to the archive")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(
+        fixedDelayString = "${boardcamp.rentals.archive.interval:PT1H}",
+        initialDelayString = "${boardcamp.rentals.archive.interval:PT1H}")
+    public void archive() {
+        archive(LocalDate.now());
+    }
+
+    public int archive(LocalDate today) {
+        if (!enabled) {
+            return 0;
+        }
+
+        LocalDate cutoff = today.minusDays(minAge.toDays());
+        // Every row this run can move was returned before the cutoff, so one pass
+        // creates all the partitions the batches below need.
+        boolean locked = transactionTemplate.execute(status -> {
+            if (!rentalsArchiveRepository.tryLock()) {
+                return false;
+            }
+            createPartitions(cutoff);
+            return true;
+        });
+        int total = 0;
+        for (int batch = 0; locked && batch < maxBatches; batch++) {
+            Integer moved = transactionTemplate.execute(status -> rentalsArchiveRepository.tryLock()
+                ? rentalsArchiveRepository.archiveReturnedBefore(cutoff, batchSize)
+                : null);
+            if (moved == null) {
+                locked = false;
+                break;
+            }
+            total += moved;
+            archived.increment(moved);
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        if (!locked) {
+            logger.info("Rental archiving skipped: another instance holds the archive lock.");
+        }
+        if (total > 0) {
+            logger.info("Archived {} rentals returned before {}.", total, cutoff);
+        }
+        return total;
+    }
+
+    public Optional<RentalsModel> findById(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return rentalsArchiveRepository.findArchivedById(id).flatMap(this::rental);
+    }
+
+    public boolean deleteById(Long id) {
+        return enabled && rentalsArchiveRepository.deleteArchivedById(id) > 0;
+    }
+
+    // One partition per month from the oldest return still to move up to the cutoff,
+    // skipping those that exist: each create takes a lock on the archive table.
+    private void createPartitions(LocalDate cutoff) {
+        LocalDate oldest = rentalsArchiveRepository.findOldestReturnDateBefore(cutoff);
+        if (oldest == null) {
+            return;
+        }
+        Set<String> existing = rentalsArchiveRepository.findPartitionNames();
+        for (YearMonth month = YearMonth.from(oldest); !month.atDay(1).isAfter(cutoff); month = month.plusMonths(1)) {
+            String partition = "%s_%d_%02d".formatted(TABLE, month.getYear(), month.getMonthValue());
+            if (existing.contains(partition)) {
+                continue;
+            }
+            entityManager.createNativeQuery("""
+                    create table if not exists "%s" partition of "%s"
+                    for values from ('%s') to ('%s')
+                    """.formatted(partition, TABLE, month.atDay(1), month.plusMonths(1).atDay(1)))
+                .executeUpdate();
+        }
+    }
+
+    private Optional<RentalsModel> rental(ArchivedRental row) {
+        return customersRepository.findById(row.getCustomerId())
+            .flatMap(customer -> gamesRepository.findById(row.getGameId())
+                .map(game -> new RentalsModel(
+                    row.getId(),
+                    row.getRentDate(),
+                    row.getDaysRented(),
+                    row.getReturnDate(),
+                    row.getOriginalPrice(),
+                    row.getDelayFee(),
+                    customer,
+                    game)));
+    }
+}
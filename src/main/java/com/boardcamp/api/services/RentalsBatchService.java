@@ -0,0 +1,134 @@
+package com.boardcamp.api.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.boardcamp.api.dtos.RentalsBatchResultDTO;
+import com.boardcamp.api.dtos.RentalsDTO;
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.repositories.CustomersRepository;
+import com.boardcamp.api.repositories.GamesRepository;
+import com.boardcamp.api.repositories.RentalsRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class RentalsBatchService {
+
+    final RentalsRepository rentalsRepository;
+    final GamesRepository gamesRepository;
+    final CustomersRepository customersRepository;
+    final GamesAvailabilityService gamesAvailabilityService;
+    final RevenueRollupService revenueRollupService;
+    final Validator validator;
+
+    RentalsBatchService(
+                    RentalsRepository rentalsRepository,
+                    GamesRepository gamesRepository,
+                    CustomersRepository customersRepository,
+                    GamesAvailabilityService gamesAvailabilityService,
+                    RevenueRollupService revenueRollupService,
+                    Validator validator) {
+        this.rentalsRepository = rentalsRepository;
+        this.gamesRepository = gamesRepository;
+        this.customersRepository = customersRepository;
+        this.gamesAvailabilityService = gamesAvailabilityService;
+        this.revenueRollupService = revenueRollupService;
+        this.validator = validator;
+    }
+
+    // Items fail individually: every item gets a result, and only the items that
+    // pass validation, lookups and the stock check are inserted (as one JDBC batch).
+    @Transactional
+    public List<RentalsBatchResultDTO> postRentalsBatch(List<RentalsDTO> body) {
+        RentalsBatchResultDTO[] results = new RentalsBatchResultDTO[body.size()];
+
+        for (int i = 0; i < body.size(); i++) {
+            Set<ConstraintViolation<RentalsDTO>> violations = validator.validate(body.get(i));
+            if (!violations.isEmpty()) {
+                results[i] = RentalsBatchResultDTO.failed(i, 400, describe(violations));
+            }
+        }
+
+        Map<Long, GamesModel> games = gamesRepository
+            .findAllByIdForUpdate(pendingIds(body, results, RentalsDTO::getGameId))
+            .stream()
+            .collect(Collectors.toMap(GamesModel::getId, Function.identity()));
+        Map<Long, CustomersModel> customers = customersRepository
+            .findAllById(pendingIds(body, results, RentalsDTO::getCustomerId))
+            .stream()
+            .collect(Collectors.toMap(CustomersModel::getId, Function.identity()));
+
+        Map<Long, List<Integer>> requestsByGame = new LinkedHashMap<>();
+        for (int i = 0; i < body.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            RentalsDTO item = body.get(i);
+            if (!games.containsKey(item.getGameId())) {
+                results[i] = RentalsBatchResultDTO.failed(i, 404, "Game ID does not exist.");
+            } else if (!customers.containsKey(item.getCustomerId())) {
+                results[i] = RentalsBatchResultDTO.failed(i, 404, "Customer ID does not exist.");
+            } else {
+                requestsByGame.computeIfAbsent(item.getGameId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<RentalsModel> rentals = new ArrayList<>();
+        List<Integer> rentalIndexes = new ArrayList<>();
+        requestsByGame.forEach((gameId, indexes) -> {
+            GamesModel game = games.get(gameId);
+            int granted = gamesAvailabilityService.reserveLocked(game, indexes.size());
+            for (int position = 0; position < indexes.size(); position++) {
+                int i = indexes.get(position);
+                if (position >= granted) {
+                    results[i] = RentalsBatchResultDTO.failed(i, 422, "No games available for rent.");
+                    continue;
+                }
+                RentalsDTO item = body.get(i);
+                rentals.add(new RentalsModel(item, game, customers.get(item.getCustomerId())));
+                rentalIndexes.add(i);
+            }
+        });
+
+        List<RentalsModel> saved = rentalsRepository.saveAll(rentals);
+        revenueRollupService.rented(saved);
+        for (int position = 0; position < saved.size(); position++) {
+            int i = rentalIndexes.get(position);
+            results[i] = RentalsBatchResultDTO.created(i, saved.get(position));
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private static List<Long> pendingIds(
+                    List<RentalsDTO> body,
+                    RentalsBatchResultDTO[] results,
+                    Function<RentalsDTO, Long> id) {
+        return IntStream.range(0, body.size())
+            .filter(i -> results[i] == null)
+            .mapToObj(i -> id.apply(body.get(i)))
+            .distinct()
+            .toList();
+    }
+
+    private static String describe(Set<ConstraintViolation<RentalsDTO>> violations) {
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -2,17 +2,32 @@ package com.boardcamp.api.services;
 import com.boardcamp.api.repositories.CustomersRepository;
 import com.boardcamp.api.repositories.GamesRepository;
 import com.boardcamp.api.repositories.RentalsRepository;
+import com.boardcamp.api.repositories.RentalsSpecifications;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.boardcamp.api.dtos.RentalsDTO;
+import com.boardcamp.api.dtos.RentalsFilterDTO;
+import com.boardcamp.api.dtos.RentalsPageDTO;
+import com.boardcamp.api.dtos.RentalsReturnResultDTO;
 import com.boardcamp.api.exceptions.CustomersIdConflictException;
 import com.boardcamp.api.exceptions.GamesIdConflictException;
 import com.boardcamp.api.exceptions.NoGamesInStockConflictException;
@@ -22,30 +37,79 @@ import com.boardcamp.api.models.CustomersModel;
 import com.boardcamp.api.models.GamesModel;
 import com.boardcamp.api.models.RentalsModel;
 
+import io.micrometer.core.annotation.Timed;
+
+import jakarta.persistence.EntityManager;
+
 @Service
+@Timed(value = "boardcamp.service", histogram = true)
 public class RentalsService {
 
+    static final int STREAM_CLEAR_INTERVAL = 500;
+
     final RentalsRepository rentalsRepository;
     final GamesRepository gamesRepository;
     final CustomersRepository customersRepository;
+    final GamesAvailabilityService gamesAvailabilityService;
+    final OverdueRentalsService overdueRentalsService;
+    final RevenueRollupService revenueRollupService;
+    final RentalsArchiveService rentalsArchiveService;
+    final EntityManager entityManager;
 
     RentalsService(
                     RentalsRepository rentalsRepository, 
                     GamesRepository gamesRepository, 
-                    CustomersRepository customersRepository) {
+                    CustomersRepository customersRepository,
+                    GamesAvailabilityService gamesAvailabilityService,
+                    OverdueRentalsService overdueRentalsService,
+                    RevenueRollupService revenueRollupService,
+                    RentalsArchiveService rentalsArchiveService,
+                    EntityManager entityManager) {
         this.rentalsRepository = rentalsRepository;
         this.gamesRepository = gamesRepository;
         this.customersRepository = customersRepository;
+        this.gamesAvailabilityService = gamesAvailabilityService;
+        this.overdueRentalsService = overdueRentalsService;
+        this.revenueRollupService = revenueRollupService;
+        this.rentalsArchiveService = rentalsArchiveService;
+        this.entityManager = entityManager;
     }
 
-    public List<RentalsModel> getRentals() {
-        return rentalsRepository.findAll();
+    public RentalsPageDTO getRentals(RentalsFilterDTO filter) {
+        int limit = filter.getLimit();
+        List<RentalsModel> rentals = rentalsRepository.findBy(
+            RentalsSpecifications.matching(filter),
+            query -> query.sortBy(Sort.by("id")).limit(limit + 1).all());
+
+        if (rentals.size() <= limit) {
+            return new RentalsPageDTO(rentals, null);
+        }
+
+        List<RentalsModel> page = rentals.subList(0, limit);
+        return new RentalsPageDTO(page, page.get(limit - 1).getId());
     }
 
+    // Rentals share their fetched customer and game, so instead of detaching row by
+    // row the persistence context is cleared every STREAM_CLEAR_INTERVAL rows.
+    @Transactional(readOnly = true)
+    public void streamRentals(Consumer<RentalsModel> consumer) {
+        try (Stream<RentalsModel> rentals = rentalsRepository.streamAll()) {
+            int[] written = {0};
+            rentals.forEach(rental -> {
+                consumer.accept(rental);
+                if (++written[0] % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+
+    // Rentals returned long ago have been moved to the archive by RentalsArchiveService.
     public Optional<RentalsModel> getRentalsById(Long id) {
-        return rentalsRepository.findById(id);
+        return rentalsRepository.findById(id).or(() -> rentalsArchiveService.findById(id));
     }
 
+    @Transactional
     public RentalsModel postRentals(RentalsDTO body) {
         GamesModel game = gamesRepository
             .findById(body.getGameId())
@@ -55,18 +119,22 @@ public class RentalsService {
             .findById(body.getCustomerId())
             .orElseThrow(() -> new CustomersIdConflictException("Customer ID does not exist."));
             
-        int rentalsInProgress = rentalsRepository.countByGameIdAndReturnDateIsNull(game.getId());
-        if (rentalsInProgress >= game.getStockTotal()) {
+        if (!gamesAvailabilityService.reserve(game)) {
             throw new NoGamesInStockConflictException("No games available for rent.");
         }
 
-        RentalsModel rental = new RentalsModel(body, game, customer);
-        return rentalsRepository.save(rental);
+        RentalsModel rental = rentalsRepository.save(new RentalsModel(body, game, customer));
+        revenueRollupService.rented(List.of(rental));
+        return rental;
     }
 
+    // Locked like returnRentals, so concurrent returns of the same id cannot both
+    // release a copy and book the fee.
+    @Transactional
     public RentalsModel updateRentals(Long id) {
         RentalsModel rental = rentalsRepository
-            .findById(id)
+            .findByIdForUpdate(id)
+            .or(() -> rentalsArchiveService.findById(id))
             .orElseThrow(() -> new RentalsIdConflictException("Rental ID does not exist."));
 
 
@@ -74,7 +142,51 @@ public class RentalsService {
             throw new ReturnDateConflictException("Rental has already been returned."); 
         }
 
+        returnRental(rental, LocalDate.now());
+        gamesAvailabilityService.release(rental.getGame());
+        overdueRentalsService.returned(rental);
+        revenueRollupService.returned(List.of(rental));
+        return rentalsRepository.save(rental);
+    }
+
+    // Rentals are locked up front so concurrent returns of the same id cannot both
+    // release a copy. Each one goes through returnRental, the same per-item fee logic
+    // as updateRentals; the dirty rentals are flushed as one batched UPDATE on commit.
+    @Transactional
+    public RentalsReturnResultDTO returnRentals(List<Long> ids) {
+        Map<Long, RentalsModel> rentals = rentalsRepository.findAllByIdForUpdate(ids).stream()
+            .collect(Collectors.toMap(RentalsModel::getId, Function.identity()));
+
         LocalDate today = LocalDate.now();
+        List<RentalsModel> returned = new ArrayList<>();
+        List<Long> alreadyReturned = new ArrayList<>();
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            RentalsModel rental = rentals.get(id);
+            if (rental == null) {
+                notFound.add(id);
+            } else if (rental.getReturnDate() != null) {
+                alreadyReturned.add(id);
+            } else {
+                returnRental(rental, today);
+                overdueRentalsService.returned(rental);
+                returned.add(rental);
+            }
+        }
+
+        // Games are released in id order, the order the batch path locks them in.
+        returned.stream()
+            .collect(Collectors.groupingBy(
+                RentalsModel::getGame,
+                () -> new TreeMap<>(Comparator.comparing(GamesModel::getId)),
+                Collectors.counting()))
+            .forEach((game, copies) -> gamesAvailabilityService.release(game, copies.intValue()));
+        revenueRollupService.returned(returned);
+
+        return new RentalsReturnResultDTO(returned, alreadyReturned, notFound);
+    }
+
+    static void returnRental(RentalsModel rental, LocalDate today) {
         rental.setReturnDate(today);
 
         LocalDate dueDate = rental.getRentDate().plusDays(rental.getDaysRented());
@@ -84,18 +196,26 @@ public class RentalsService {
         } else {
             rental.setDelayFee(0);
         }
-
-        return rentalsRepository.save(rental);
     }
 
+    // The hot row is locked and an archived one must actually be deleted here, so two
+    // concurrent deletes of the same rental cannot both reverse its rollups.
+    @Transactional
     public void deleteRentals(Long id) {
-        RentalsModel rental = rentalsRepository.findById(id)
+        Optional<RentalsModel> current = rentalsRepository.findByIdForUpdate(id);
+        RentalsModel rental = current
+            .or(() -> rentalsArchiveService.findById(id))
             .orElseThrow(() -> new RentalsIdConflictException("Rental ID does not exist."));
 
         if (rental.getReturnDate() == null) {
             throw new ReturnDateConflictException("Rental has not been returned yet.");
         }
 
-        rentalsRepository.deleteById(id);
+        if (current.isPresent()) {
+            rentalsRepository.deleteById(id);
+        } else if (!rentalsArchiveService.deleteById(id)) {
+            throw new RentalsIdConflictException("Rental ID does not exist.");
+        }
+        revenueRollupService.deleted(rental);
     }
 }
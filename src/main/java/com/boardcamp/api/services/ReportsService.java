@@ -0,0 +1,49 @@
+package com.boardcamp.api.services;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.boardcamp.api.dtos.UtilizationReportDTO;
+import com.boardcamp.api.repositories.CustomerRevenueDailyRepository;
+import com.boardcamp.api.repositories.GameRevenueDailyRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+// Reports read only the daily rollups maintained by RevenueRollupService, never
+// rentals-boardcamp; utilization joins in the game's name and stockTotal.
+@Service
+@Timed(value = "boardcamp.service", histogram = true)
+public class ReportsService {
+
+    final GameRevenueDailyRepository gameRevenueRepository;
+    final CustomerRevenueDailyRepository customerRevenueRepository;
+    ReportsService(
+                    GameRevenueDailyRepository gameRevenueRepository,
+                    CustomerRevenueDailyRepository customerRevenueRepository) {
+        this.gameRevenueRepository = gameRevenueRepository;
+        this.customerRevenueRepository = customerRevenueRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<?> getRevenue(LocalDate from, LocalDate to, String by) {
+        if ("customer".equals(by)) {
+            return customerRevenueRepository.findByDayBetweenOrderByDayAscCustomerIdAsc(from, to);
+        }
+        return gameRevenueRepository.findByDayBetweenOrderByDayAscGameIdAsc(from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UtilizationReportDTO> getUtilization(LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        List<UtilizationReportDTO> report = gameRevenueRepository.sumByGame(from, to);
+        for (UtilizationReportDTO game : report) {
+            long copyDays = game.getStockTotal() * days;
+            game.setUtilization(copyDays == 0 ? 0 : (double) game.getDaysRented() / copyDays);
+        }
+        return report;
+    }
+}
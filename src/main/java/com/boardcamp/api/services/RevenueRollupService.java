@@ -0,0 +1,125 @@
+package com.boardcamp.api.services;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.repositories.CustomerRevenueDailyRepository;
+import com.boardcamp.api.repositories.GameRevenueDailyRepository;
+
+// Keeps the daily revenue rollups in step with rentals-boardcamp. Callers run inside
+// the transaction that changes the rentals, so a rollback undoes both. A rental
+// counts on its rentDate with originalPrice and on its returnDate with delayFee;
+// deleting it takes both back out. Deltas are applied in (day, id) order so two
+// transactions touching the same rows always lock them in the same order.
+@Service
+public class RevenueRollupService {
+
+    static final int RENTALS = 0;
+    static final int DAYS_RENTED = 1;
+    static final int RETURNED = 2;
+    static final int REVENUE = 3;
+
+    final GameRevenueDailyRepository gameRevenueRepository;
+    final CustomerRevenueDailyRepository customerRevenueRepository;
+    final boolean archiveEnabled;
+    RevenueRollupService(
+                    GameRevenueDailyRepository gameRevenueRepository,
+                    CustomerRevenueDailyRepository customerRevenueRepository,
+                    @Value("${boardcamp.rentals.archive.enabled:true}") boolean archiveEnabled) {
+        this.gameRevenueRepository = gameRevenueRepository;
+        this.customerRevenueRepository = customerRevenueRepository;
+        this.archiveEnabled = archiveEnabled;
+    }
+
+    public void rented(Collection<RentalsModel> rentals) {
+        Deltas deltas = new Deltas();
+        rentals.forEach(rental -> deltas.rented(rental, 1));
+        apply(deltas);
+    }
+
+    public void returned(Collection<RentalsModel> rentals) {
+        Deltas deltas = new Deltas();
+        rentals.forEach(rental -> deltas.returned(rental, 1));
+        apply(deltas);
+    }
+
+    public void deleted(RentalsModel rental) {
+        Deltas deltas = new Deltas();
+        deltas.rented(rental, -1);
+        if (rental.getReturnDate() != null) {
+            deltas.returned(rental, -1);
+        }
+        apply(deltas);
+    }
+
+    // Backfill: recomputes both rollups from rentals-boardcamp and its archive in one
+    // transaction. Rentals committed while it runs may be missed, so run it when
+    // writes are quiet.
+    @Transactional
+    public int[] rebuild() {
+        gameRevenueRepository.deleteAllInBatch();
+        customerRevenueRepository.deleteAllInBatch();
+        int[] rows = {gameRevenueRepository.insertFromRentals(), customerRevenueRepository.insertFromRentals()};
+        // The archive table only exists when archiving is enabled.
+        if (archiveEnabled) {
+            rows[0] += gameRevenueRepository.addFromArchivedRentals();
+            rows[1] += customerRevenueRepository.addFromArchivedRentals();
+        }
+        return rows;
+    }
+
+    private void apply(Deltas deltas) {
+        deltas.games.forEach((key, delta) -> {
+            gameRevenueRepository.insertIfMissing(key.day(), key.id());
+            gameRevenueRepository.increment(
+                key.day(), key.id(), (int) delta[RENTALS], (int) delta[DAYS_RENTED], (int) delta[RETURNED], delta[REVENUE]);
+        });
+        deltas.customers.forEach((key, delta) -> {
+            customerRevenueRepository.insertIfMissing(key.day(), key.id());
+            customerRevenueRepository.increment(
+                key.day(), key.id(), (int) delta[RENTALS], (int) delta[RETURNED], delta[REVENUE]);
+        });
+    }
+
+    record Key(LocalDate day, Long id) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byDay = day.compareTo(other.day);
+            return byDay != 0 ? byDay : id.compareTo(other.id);
+        }
+    }
+
+    static final class Deltas {
+        final Map<Key, long[]> games = new TreeMap<>();
+        final Map<Key, long[]> customers = new TreeMap<>();
+
+        void rented(RentalsModel rental, int sign) {
+            LocalDate day = rental.getRentDate();
+            long[] game = games.computeIfAbsent(new Key(day, rental.getGame().getId()), key -> new long[4]);
+            long[] customer = customers.computeIfAbsent(new Key(day, rental.getCustomer().getId()), key -> new long[4]);
+            game[RENTALS] += sign;
+            game[DAYS_RENTED] += sign * rental.getDaysRented();
+            game[REVENUE] += sign * rental.getOriginalPrice();
+            customer[RENTALS] += sign;
+            customer[REVENUE] += sign * rental.getOriginalPrice();
+        }
+
+        void returned(RentalsModel rental, int sign) {
+            LocalDate day = rental.getReturnDate();
+            long fee = rental.getDelayFee() == null ? 0 : rental.getDelayFee();
+            long[] game = games.computeIfAbsent(new Key(day, rental.getGame().getId()), key -> new long[4]);
+            long[] customer = customers.computeIfAbsent(new Key(day, rental.getCustomer().getId()), key -> new long[4]);
+            game[RETURNED] += sign;
+            game[REVENUE] += sign * fee;
+            customer[RETURNED] += sign;
+            customer[REVENUE] += sign * fee;
+        }
+    }
+}
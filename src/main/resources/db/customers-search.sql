@@ -0,0 +1,12 @@
+-- Indexes for GET /customers?cpf=&name=&phone=, applied after Hibernate has
+-- created the tables (spring.jpa.defer-datasource-initialization).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS customers_cpf_prefix_idx
+    ON "customers-boardcamp" (cpf text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS customers_phone_prefix_idx
+    ON "customers-boardcamp" (phone text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS customers_name_trgm_idx
+    ON "customers-boardcamp" USING gin (lower(name) gin_trgm_ops);
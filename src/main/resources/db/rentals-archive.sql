@@ -0,0 +1,17 @@
+-- History store for returned rentals, filled by RentalsArchiveService. Partitions
+-- are monthly ranges of return_date, created by the job before it moves rows into
+-- them. Rows keep their customer and game ids but there are no foreign keys, so
+-- deleting or archiving a customer or game never blocks on the archive.
+CREATE TABLE IF NOT EXISTS "rentals-archive-boardcamp" (
+    id bigint NOT NULL,
+    rent_date date NOT NULL,
+    days_rented integer NOT NULL,
+    due_date date,
+    return_date date NOT NULL,
+    original_price integer NOT NULL,
+    delay_fee integer,
+    customer_id bigint NOT NULL,
+    game_id bigint NOT NULL,
+    archived_at timestamp with time zone NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, return_date)
+) PARTITION BY RANGE (return_date);
@@ -0,0 +1,5 @@
+-- Partial index for the overdue scanner and GET /rentals/overdue: only open rentals
+-- are indexed, ordered by due date, so each scan reads just the newly due range.
+CREATE INDEX IF NOT EXISTS rentals_open_due_date_idx
+    ON "rentals-boardcamp" (due_date, id) INCLUDE (game_id)
+    WHERE return_date IS NULL;
@@ -0,0 +1,75 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.boardcamp.api.config.BulkheadDataSource;
+
+class BulkheadDataSourceUnitTest {
+
+    @Test
+    void givenAllPermitsInUse_whenGettingConnection_thenTimesOut() throws SQLException {
+        // given
+        DataSource pool = mock(DataSource.class);
+        doReturn(mock(Connection.class)).when(pool).getConnection();
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, 10);
+        bulkhead.getConnection();
+
+        // when
+        SQLTransientConnectionException exception = assertThrows(
+            SQLTransientConnectionException.class,
+            bulkhead::getConnection);
+
+        // then
+        verify(pool, times(1)).getConnection();
+        assertEquals(0, bulkhead.getAvailablePermits());
+        assertEquals("Database bulkhead full: 1 connections in use, waited 10ms", exception.getMessage());
+    }
+
+    @Test
+    void givenClosedConnection_whenGettingConnection_thenReusesPermit() throws SQLException {
+        // given
+        DataSource pool = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        doReturn(connection).when(pool).getConnection();
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, 10);
+        Connection first = bulkhead.getConnection();
+        first.close();
+        first.close();
+
+        // when
+        bulkhead.getConnection();
+
+        // then
+        verify(connection, times(1)).close();
+        verify(pool, times(2)).getConnection();
+        assertEquals(0, bulkhead.getAvailablePermits());
+    }
+
+    @Test
+    void givenPoolFailure_whenGettingConnection_thenReleasesPermit() throws SQLException {
+        // given
+        DataSource pool = mock(DataSource.class);
+        doThrow(new SQLException("pool exhausted")).when(pool).getConnection();
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, 10);
+
+        // when
+        assertThrows(SQLException.class, bulkhead::getConnection);
+
+        // then
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+}
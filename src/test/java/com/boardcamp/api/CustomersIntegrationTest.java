@@ -1,8 +1,18 @@
 package com.boardcamp.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,16 +20,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.boardcamp.api.dtos.CustomersDTO;
+import com.boardcamp.api.dtos.ImportReportDTO;
+import com.boardcamp.api.exceptions.IdempotencyKeyConflictException;
 import com.boardcamp.api.models.CustomersModel;
 import com.boardcamp.api.repositories.CustomersRepository;
 import com.boardcamp.api.repositories.GamesRepository;
+import com.boardcamp.api.repositories.IdempotencyKeysRepository;
 import com.boardcamp.api.repositories.RentalsRepository;
+import com.boardcamp.api.services.IdempotencyService;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -37,6 +56,15 @@ public class CustomersIntegrationTest {
     @Autowired
     private RentalsRepository rentalsRepository;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyKeysRepository idempotencyKeysRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void cleanUp() {
         rentalsRepository.deleteAll();
@@ -44,6 +72,32 @@ public class CustomersIntegrationTest {
         customersRepository.deleteAll();
     }
 
+    @Test
+    void givenIdempotencyKeyTakenOverMidRequest_whenCreatingCustomer_thenRollsBackCreation() {
+        // given
+        String key = UUID.randomUUID().toString();
+        CustomersDTO body = new CustomersDTO("Test", "21999999999", "12345678900");
+        TransactionTemplate otherInstance = new TransactionTemplate(transactionManager);
+        otherInstance.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Instant afterLease = Instant.now().plus(Duration.ofHours(1));
+
+        // when
+        IdempotencyKeyConflictException exception = assertThrows(
+            IdempotencyKeyConflictException.class,
+            () -> idempotencyService.execute("POST /customers", key, body, () -> {
+                customersRepository.save(new CustomersModel(body));
+                otherInstance.executeWithoutResult(status -> idempotencyKeysRepository.reclaim(
+                    "POST /customers " + key, "other", "other-owner",
+                    afterLease.plus(Duration.ofMinutes(1)), afterLease.plus(Duration.ofDays(1)), afterLease));
+                return ResponseEntity.status(201).body(body);
+            }));
+
+        // then
+        assertEquals("A request with this Idempotency-Key is still being processed.", exception.getMessage());
+        assertEquals(0, customersRepository.count());
+        assertEquals("other-owner", idempotencyKeysRepository.findById("POST /customers " + key).orElseThrow().getOwner());
+    }
+
     @Test
 	void givenExistingCpf_whenCreatingCustomer_thenThrowsError() {
         
@@ -123,6 +177,31 @@ public class CustomersIntegrationTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
 
+    @Test
+    void givenFetchedCustomer_whenGettingCustomersByIdWithETag_thenReturnsNotModified() {
+        // given
+        CustomersModel existingCustomer = customersRepository.save(
+            new CustomersModel(null, "test", "1234567890", "12345678901"));
+        ResponseEntity<CustomersModel> first = testRestTemplate.getForEntity(
+            "/customers/" + existingCustomer.getId(), CustomersModel.class);
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(first.getHeaders().getETag());
+
+        // when
+        ResponseEntity<String> response = testRestTemplate.exchange(
+            "/customers/" + existingCustomer.getId(),
+            HttpMethod.GET,
+            new HttpEntity<>(conditional),
+            String.class
+        );
+
+        // then
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals("test", first.getBody().getName());
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(first.getHeaders().getETag(), response.getHeaders().getETag());
+    }
+
     @Test
     void givenNoCustomers_whenGettingCustomers_thenReturnsEmptyList() {
         // given
@@ -159,4 +238,182 @@ public class CustomersIntegrationTest {
         assertEquals(1, customersRepository.count());
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenExistingCustomers_whenStreamingCustomers_thenReturnsOneJsonLinePerCustomer() {
+        // given
+        customersRepository.save(new CustomersModel(null, "test", "1234567890", "12345678901"));
+        customersRepository.save(new CustomersModel(null, "test2", "1234567890", "12345678902"));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        // when
+        ResponseEntity<String> response = testRestTemplate.exchange(
+            "/customers",
+            HttpMethod.GET,
+            new HttpEntity<>(headers),
+            String.class
+        );
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType()));
+        assertEquals(2, response.getBody().lines().count());
+    }
+
+    @Test
+    void givenJsonCustomers_whenImportingCustomers_thenSkipsDuplicateCpfs() {
+        // given
+        customersRepository.save(new CustomersModel(null, "test", "1234567890", "12345678901"));
+
+        List<CustomersDTO> customers = List.of(
+            new CustomersDTO("new", "1234567890", "12345678902"),
+            new CustomersDTO("existing", "1234567890", "12345678901"),
+            new CustomersDTO("invalid", "123", "12345678903"));
+
+        // when
+        ResponseEntity<ImportReportDTO> response = testRestTemplate.exchange(
+            "/customers/import",
+            HttpMethod.POST,
+            new HttpEntity<>(customers),
+            ImportReportDTO.class
+        );
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getImported());
+        assertEquals(2, response.getBody().getRejected());
+        assertEquals(2, customersRepository.count());
+    }
+
+    @Test
+    void givenCpfInsertedAfterDuplicateCheck_whenImportingCustomers_thenRejectsOnlyThatRow() {
+        // given
+        // Saved through the repository, so the CPF filter never saw it and the import
+        // only finds the duplicate when its chunk is flushed.
+        customersRepository.save(new CustomersModel(null, "racing", "1234567890", "55544433322"));
+
+        List<CustomersDTO> customers = List.of(
+            new CustomersDTO("first", "1234567890", "55544433321"),
+            new CustomersDTO("racing", "1234567890", "55544433322"),
+            new CustomersDTO("third", "1234567890", "55544433323"));
+
+        // when
+        ResponseEntity<ImportReportDTO> response = testRestTemplate.exchange(
+            "/customers/import",
+            HttpMethod.POST,
+            new HttpEntity<>(customers),
+            ImportReportDTO.class
+        );
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getImported());
+        assertEquals(1, response.getBody().getRejected());
+        assertEquals(2, response.getBody().getRejections().get(0).getRow());
+        assertEquals(3, customersRepository.count());
+    }
+
+    @Test
+    void givenConcurrentSignupsWithSameCpf_whenCreatingCustomers_thenOnlyOneSucceeds() throws Exception {
+        // given
+        HttpEntity<CustomersDTO> request = new HttpEntity<>(new CustomersDTO("test", "1234567890", "12345678901"));
+
+        // when
+        List<Future<ResponseEntity<String>>> responses;
+        try (ExecutorService executor = Executors.newFixedThreadPool(10)) {
+            responses = executor.invokeAll(Collections.nCopies(10, () -> testRestTemplate.exchange(
+                "/customers",
+                HttpMethod.POST,
+                request,
+                String.class
+                )));
+        }
+
+        // then
+        int created = 0;
+        for (Future<ResponseEntity<String>> response : responses) {
+            if (response.get().getStatusCode() == HttpStatus.CREATED) {
+                created++;
+            } else {
+                assertEquals(HttpStatus.CONFLICT, response.get().getStatusCode());
+            }
+        }
+        assertEquals(1, created);
+        assertEquals(1, customersRepository.count());
+    }
+
+    @Test
+    void givenExistingCustomers_whenSearchingCustomers_thenMatchesPrefixesAndPagesByCursor() {
+        // given
+        customersRepository.save(new CustomersModel(null, "Maria Silva", "21999990001", "11122233301"));
+        customersRepository.save(new CustomersModel(null, "Silvana Costa", "21999990002", "11122233302"));
+        customersRepository.save(new CustomersModel(null, "Joao Pessoa", "11988880003", "99988877703"));
+        customersRepository.save(new CustomersModel(null, "Marcos 100%", "21999990004", "11122233304"));
+
+        // when
+        ResponseEntity<CustomersModel[]> firstPage = testRestTemplate.exchange(
+            "/customers?name=SIL&limit=1",
+            HttpMethod.GET,
+            null,
+            CustomersModel[].class
+        );
+        String cursor = firstPage.getHeaders().getFirst("X-Next-Cursor");
+        ResponseEntity<CustomersModel[]> secondPage = testRestTemplate.exchange(
+            "/customers?name=SIL&limit=1&after=" + cursor,
+            HttpMethod.GET,
+            null,
+            CustomersModel[].class
+        );
+        ResponseEntity<CustomersModel[]> byCpfAndPhone = testRestTemplate.exchange(
+            "/customers?cpf=111222&phone=2199999",
+            HttpMethod.GET,
+            null,
+            CustomersModel[].class
+        );
+        ResponseEntity<CustomersModel[]> byWildcard = testRestTemplate.exchange(
+            "/customers?name={name}",
+            HttpMethod.GET,
+            null,
+            CustomersModel[].class,
+            "100%"
+        );
+
+        // then
+        assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+        assertEquals("Maria Silva", firstPage.getBody()[0].getName());
+        assertEquals("Silvana Costa", secondPage.getBody()[0].getName());
+        assertNull(secondPage.getHeaders().getFirst("X-Next-Cursor"));
+        assertEquals(3, byCpfAndPhone.getBody().length);
+        assertEquals(1, byWildcard.getBody().length);
+    }
+
+    @Test
+    void givenLimitAboveMaximum_whenSearchingCustomers_thenReturnsBadRequest() {
+        // when
+        ResponseEntity<String> response = testRestTemplate.exchange(
+            "/customers?name=ana&limit=1000",
+            HttpMethod.GET,
+            null,
+            String.class
+        );
+
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void givenBlankName_whenSearchingCustomers_thenReturnsBadRequest() {
+        // when
+        ResponseEntity<String> response = testRestTemplate.exchange(
+            "/customers?name={name}",
+            HttpMethod.GET,
+            null,
+            String.class,
+            "   "
+        );
+
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
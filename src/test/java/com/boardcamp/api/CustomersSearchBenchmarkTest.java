@@ -0,0 +1,108 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.boardcamp.api.dtos.CustomersFilterDTO;
+import com.boardcamp.api.services.CustomersService;
+
+// Loads 1M customers and reports search latency percentiles. Excluded from the
+// default build; run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomersSearchBenchmarkTest {
+
+    private static final int CUSTOMERS = 1_000_000;
+    private static final long FIRST_ID = 1_000_000_000L;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomersService customersService;
+
+    @BeforeEach
+    void loadCustomers() {
+        jdbcTemplate.update("""
+            insert into "customers-boardcamp" (id, name, phone, cpf)
+            select ? + g,
+                   (array['Maria','Joao','Ana','Pedro','Lucia','Carlos','Beatriz','Rafael'])[1 + g % 8]
+                       || ' ' || (array['Silva','Santos','Oliveira','Souza','Lima','Pereira','Costa'])[1 + g % 7]
+                       || ' ' || md5(g::text),
+                   lpad((21000000000 + g * 104729 % 1000000000)::text, 11, '0'),
+                   lpad((g * 7919 % 99999999999)::text, 11, '0')
+            from generate_series(1::bigint, ?) g
+            """, FIRST_ID, CUSTOMERS);
+        jdbcTemplate.execute("analyze \"customers-boardcamp\"");
+    }
+
+    @AfterEach
+    void removeCustomers() {
+        jdbcTemplate.update("delete from \"customers-boardcamp\" where id > ?", FIRST_ID);
+    }
+
+    @Test
+    void searchLatencyAtOneMillionCustomers() {
+        report("cpf prefix", () -> filter(f -> f.setCpf("0000791")));
+        report("phone prefix", () -> filter(f -> f.setPhone("2100012")));
+        report("name word prefix", () -> filter(f -> f.setName("ped")));
+        report("name fragment", () -> filter(f -> f.setName("3f9a")));
+
+        assertEquals(CUSTOMERS, jdbcTemplate.queryForObject(
+            "select count(*) from \"customers-boardcamp\" where id > ?", Integer.class, FIRST_ID));
+    }
+
+    private void report(String label, Supplier<CustomersFilterDTO> filter) {
+        for (int i = 0; i < WARMUP; i++) {
+            customersService.searchCustomers(filter.get());
+        }
+
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            customersService.searchCustomers(filter.get());
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("%-18s p50=%.2fms p95=%.2fms p99=%.2fms%n", label,
+            millis(nanos, 0.50), millis(nanos, 0.95), millis(nanos, 0.99));
+        List<String> plan = jdbcTemplate.queryForList(explain(filter.get()), String.class);
+        plan.forEach(line -> System.out.println("    " + line));
+    }
+
+    private String explain(CustomersFilterDTO filter) {
+        String column = filter.getCpf() != null ? "cpf" : filter.getPhone() != null ? "phone" : "lower(name)";
+        String value = filter.getCpf() != null ? filter.getCpf() : filter.getPhone() != null ? filter.getPhone() : filter.getName();
+        String condition = column.equals("lower(name)")
+            ? "lower(name) like '" + value + "%' or lower(name) like '% " + value + "%'"
+            : column + " like '" + value + "%'";
+        return "explain select * from \"customers-boardcamp\" where " + condition + " order by id limit 21";
+    }
+
+    private static CustomersFilterDTO filter(Consumer<CustomersFilterDTO> setup) {
+        CustomersFilterDTO filter = new CustomersFilterDTO();
+        setup.accept(filter);
+        return filter;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1_000_000.0;
+    }
+}
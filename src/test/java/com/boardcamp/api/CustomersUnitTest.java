@@ -2,9 +2,11 @@ package com.boardcamp.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -16,14 +18,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
 
 import com.boardcamp.api.dtos.CustomersDTO;
+import com.boardcamp.api.dtos.CustomersFilterDTO;
+import com.boardcamp.api.dtos.CustomersPageDTO;
 import com.boardcamp.api.exceptions.ExistsByCpfConflictException;
 import com.boardcamp.api.models.CustomersModel;
 import com.boardcamp.api.models.GamesModel;
 import com.boardcamp.api.repositories.CustomersRepository;
 import com.boardcamp.api.repositories.GamesRepository;
 import com.boardcamp.api.repositories.RentalsRepository;
+import com.boardcamp.api.services.CustomersCpfFilter;
 import com.boardcamp.api.services.CustomersService;
 import com.boardcamp.api.services.GamesService;
 import com.boardcamp.api.services.RentalsService;
@@ -48,6 +54,9 @@ class CustomersUnitTest {
 	@Mock
 	private RentalsRepository rentalsRepository;
 
+	@Mock
+	private CustomersCpfFilter customersCpfFilter;
+
 	@Test
 	void givenNoCustomers_whenGettingCustomers_thenReturnsEmptyList() {
 		// given
@@ -115,6 +124,7 @@ class CustomersUnitTest {
 		// given
 		CustomersDTO customer = new CustomersDTO("Test", "12345678900", "2000-01-01");
 
+		doReturn(true).when(customersCpfFilter).mightContain(any());
 		doReturn(true).when(customersRepository).existsByCpf(any());
 
 		// when
@@ -137,8 +147,9 @@ class CustomersUnitTest {
 		CustomersDTO customer = new CustomersDTO("Test", "12345678900", "2000-01-01");
 		CustomersModel customerModel = new CustomersModel(customer);
 
+		doReturn(true).when(customersCpfFilter).mightContain(any());
 		doReturn(false).when(customersRepository).existsByCpf(any());
-		doReturn(customerModel).when(customersRepository).save(any());
+		doReturn(customerModel).when(customersRepository).saveAndFlush(any());
 
 
 		// when
@@ -146,9 +157,65 @@ class CustomersUnitTest {
 
 		// then
 		verify(customersRepository, times(1)).existsByCpf(any());
-		verify(customersRepository, times(1)).save(any());
+		verify(customersRepository, times(1)).saveAndFlush(any());
 		assertEquals(customerModel, result);
 	}
 
+	@Test
+	void givenCpfUnknownToFilter_whenCreatingCustomer_thenSkipsCpfQuery() {
+		// given
+		CustomersDTO customer = new CustomersDTO("Test", "12345678900", "2000-01-01");
+		CustomersModel customerModel = new CustomersModel(customer);
+
+		doReturn(false).when(customersCpfFilter).mightContain(any());
+		doReturn(customerModel).when(customersRepository).saveAndFlush(any());
+
+		// when
+		CustomersModel result = customersService.postCustomers(customer).get();
+
+		// then
+		verify(customersRepository, never()).existsByCpf(any());
+		verify(customersRepository, times(1)).saveAndFlush(any());
+		verify(customersCpfFilter, times(1)).add(customer.getCpf());
+		assertEquals(customerModel.getCpf(), result.getCpf());
+	}
+
 
+	@Test
+	void givenMatchingCustomersWithinLimit_whenSearchingCustomers_thenReturnsPageWithoutCursor() {
+		// given
+		CustomersModel customer = new CustomersModel(1L, "Maria Silva", "21999990000", "12345678900");
+		CustomersFilterDTO filter = new CustomersFilterDTO();
+		filter.setName("sil");
+
+		doReturn(List.of(customer)).when(customersRepository).findBy(any(Specification.class), any());
+
+		// when
+		CustomersPageDTO result = customersService.searchCustomers(filter);
+
+		// then
+		verify(customersRepository, times(1)).findBy(any(Specification.class), any());
+		assertEquals(List.of(customer), result.getCustomers());
+		assertNull(result.getNextCursor());
+	}
+
+	@Test
+	void givenMoreCustomersThanLimit_whenSearchingCustomers_thenReturnsPageWithNextCursor() {
+		// given
+		CustomersModel customer1 = new CustomersModel(1L, "Ana", "21999990001", "12345678901");
+		CustomersModel customer2 = new CustomersModel(2L, "Ana Paula", "21999990002", "12345678902");
+		CustomersModel customer3 = new CustomersModel(3L, "Anabela", "21999990003", "12345678903");
+		CustomersFilterDTO filter = new CustomersFilterDTO();
+		filter.setName("ana");
+		filter.setLimit(2);
+
+		doReturn(List.of(customer1, customer2, customer3)).when(customersRepository).findBy(any(Specification.class), any());
+
+		// when
+		CustomersPageDTO result = customersService.searchCustomers(filter);
+
+		// then
+		assertEquals(List.of(customer1, customer2), result.getCustomers());
+		assertEquals(2L, result.getNextCursor());
+	}
 }
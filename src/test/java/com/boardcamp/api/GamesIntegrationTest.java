@@ -1,6 +1,7 @@
 package com.boardcamp.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 
@@ -10,18 +11,28 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.graphql.GraphQlProperties.Http;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.boardcamp.api.dtos.GamesDTO;
+import com.boardcamp.api.dtos.ImportRejectionDTO;
+import com.boardcamp.api.dtos.ImportReportDTO;
 import com.boardcamp.api.models.CustomersModel;
 import com.boardcamp.api.models.GamesModel;
 import com.boardcamp.api.repositories.CustomersRepository;
 import com.boardcamp.api.repositories.GamesRepository;
 import com.boardcamp.api.repositories.RentalsRepository;
+import com.boardcamp.api.services.GamesService;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -39,6 +50,15 @@ public class GamesIntegrationTest {
     @Autowired
     private RentalsRepository rentalsRepository;
 
+    @Autowired
+    private GamesService gamesService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void cleanUp() {
         rentalsRepository.deleteAll();
@@ -82,6 +102,113 @@ public class GamesIntegrationTest {
         assertEquals(1, gamesRepository.count());
     }
 
+    @Test
+    void givenCachedCatalog_whenCreatingGame_thenCatalogIsRefreshed() {
+        // given
+        gamesRepository.save(new GamesModel(null, "Test", "image.png", 10, 5));
+        double hitsBefore = catalogGets("hit");
+
+        // when
+        testRestTemplate.exchange("/games", HttpMethod.GET, null, GamesModel[].class);
+        ResponseEntity<GamesModel[]> cached = testRestTemplate.exchange(
+            "/games",
+            HttpMethod.GET,
+            null,
+            GamesModel[].class
+        );
+        testRestTemplate.exchange(
+            "/games",
+            HttpMethod.POST,
+            new HttpEntity<>(new GamesDTO("NewGame", "image.png", 20, 7)),
+            GamesModel.class
+        );
+        ResponseEntity<GamesModel[]> refreshed = testRestTemplate.exchange(
+            "/games",
+            HttpMethod.GET,
+            null,
+            GamesModel[].class
+        );
+
+        // then
+        assertEquals(1, cached.getBody().length);
+        assertEquals(2, refreshed.getBody().length);
+        assertEquals(hitsBefore, catalogGets("hit"));
+        assertTrue(!cached.getHeaders().getETag().equals(refreshed.getHeaders().getETag()));
+    }
+
+    @Test
+    void givenCachedGames_whenChangingCopiesOrRollingBack_thenCacheIsUnchanged() {
+        // given
+        GamesModel game = gamesRepository.save(new GamesModel(null, "Test", "image.png", 10, 5));
+        gamesRepository.findAll();
+
+        // when
+        gamesRepository.findById(game.getId()).orElseThrow().setName("Changed");
+        gamesRepository.findAll().get(0).setName("Changed");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            GamesModel renamed = gamesRepository.findById(game.getId()).orElseThrow();
+            renamed.setName("Renamed");
+            gamesRepository.save(renamed);
+            gamesRepository.findAll();
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertEquals("Test", gamesRepository.findById(game.getId()).orElseThrow().getName());
+        assertEquals(List.of("Test"), gamesRepository.findAll().stream().map(GamesModel::getName).toList());
+    }
+
+    @Test
+    void givenUnchangedCatalog_whenGettingGamesWithETag_thenReturnsNotModified() {
+        // given
+        gamesRepository.save(new GamesModel(null, "Test", "image.png", 10, 5));
+        ResponseEntity<GamesModel[]> first = testRestTemplate.exchange("/games", HttpMethod.GET, null, GamesModel[].class);
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(first.getHeaders().getETag());
+        HttpHeaders gzip = new HttpHeaders();
+        gzip.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // when
+        ResponseEntity<String> unchanged = testRestTemplate.exchange(
+            "/games", HttpMethod.GET, new HttpEntity<>(conditional), String.class);
+        ResponseEntity<byte[]> compressed = testRestTemplate.exchange(
+            "/games", HttpMethod.GET, new HttpEntity<>(gzip), byte[].class);
+        gamesRepository.save(new GamesModel(null, "Other", "image.png", 10, 5));
+        ResponseEntity<GamesModel[]> changed = testRestTemplate.exchange(
+            "/games", HttpMethod.GET, new HttpEntity<>(conditional), GamesModel[].class);
+
+        // then
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertEquals(first.getHeaders().getETag(), unchanged.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, compressed.getStatusCode());
+        assertTrue(compressed.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertEquals(2, changed.getBody().length);
+    }
+
+    @Test
+    void givenRentedCopiesChanged_whenSavingGame_thenCatalogVersionIsUnchanged() {
+        // given
+        GamesModel game = gamesRepository.save(new GamesModel(null, "Test", "image.png", 10, 5));
+        long version = gamesService.getCatalogVersion();
+
+        // when
+        game.setRentedCount(3);
+        gamesRepository.save(game);
+        long afterRentedCopies = gamesService.getCatalogVersion();
+        game.setPricePerDay(6);
+        gamesRepository.save(game);
+
+        // then
+        assertEquals(version, afterRentedCopies);
+        assertEquals(version + 1, gamesService.getCatalogVersion());
+    }
+
+    private double catalogGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "gamesCatalog").tag("result", result).functionCounter().count();
+    }
+
     @Test
     void givenExistingSameName_whenCreatingGame_thenThrowsError() {
         // given
@@ -123,5 +250,76 @@ public class GamesIntegrationTest {
         assertEquals(1, gamesRepository.count());
     }
 
+    @Test
+    void givenCsvCatalog_whenImportingGames_thenImportsValidRowsAndReportsRejections() {
+        // given
+        gamesRepository.save(new GamesModel(null, "Existing", "image.png", 10, 5));
+
+        String csv = String.join("\n",
+            "name,image,stockTotal,pricePerDay",
+            "Catan,catan.png,3,15",
+            "\"Ticket to Ride, Europe\",ttr.png,2,12",
+            "Existing,image.png,1,1",
+            "Catan,catan2.png,1,1",
+            "Broken,broken.png,abc,10");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
 
+        // when
+        ResponseEntity<ImportReportDTO> response = testRestTemplate.exchange(
+            "/games/import",
+            HttpMethod.POST,
+            new HttpEntity<>(csv, headers),
+            ImportReportDTO.class
+        );
+
+        // then
+        ImportReportDTO report = response.getBody();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5, report.getReceived());
+        assertEquals(2, report.getImported());
+        assertEquals(List.of(3, 4, 5), report.getRejections().stream().map(ImportRejectionDTO::getRow).toList());
+        assertTrue(gamesRepository.existsByName("Ticket to Ride, Europe"));
+        assertEquals(3, gamesRepository.count());
+    }
+
+    @Test
+    void givenCreatedGame_whenSearchingByName_thenReturnsMatchingGames() {
+        // given
+        testRestTemplate.exchange(
+            "/games",
+            HttpMethod.POST,
+            new HttpEntity<>(new GamesDTO("Código Secreto", "image.png", 3, 10)),
+            String.class
+        );
+        gamesRepository.save(new GamesModel(null, "Dixit", "dixit.png", 2, 8));
+
+        // when
+        ResponseEntity<List<GamesModel>> response = testRestTemplate.exchange(
+            "/games?name=codigo",
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<List<GamesModel>>() {}
+        );
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals("Código Secreto", response.getBody().get(0).getName());
+    }
+
+    @Test
+    void givenLimitAboveMaximum_whenSearchingGames_thenReturnsBadRequest() {
+        // when
+        ResponseEntity<String> response = testRestTemplate.exchange(
+            "/games?name=catan&limit=1000",
+            HttpMethod.GET,
+            null,
+            String.class
+        );
+
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
 }
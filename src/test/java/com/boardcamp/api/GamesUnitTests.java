@@ -1,22 +1,30 @@
 package com.boardcamp.api;
 
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.boardcamp.api.dtos.CustomersDTO;
 import com.boardcamp.api.dtos.GamesDTO;
@@ -29,11 +37,18 @@ import com.boardcamp.api.models.GamesModel;
 import com.boardcamp.api.models.RentalsModel;
 import com.boardcamp.api.repositories.CustomersRepository;
 import com.boardcamp.api.repositories.GamesRepository;
+import com.boardcamp.api.repositories.GamesRepository.RentedCount;
 import com.boardcamp.api.repositories.RentalsRepository;
+import com.boardcamp.api.repositories.RentalsRepository.OpenRentalsCount;
 import com.boardcamp.api.services.CustomersService;
+import com.boardcamp.api.services.GamesAvailabilityService;
+import com.boardcamp.api.services.GamesSearchIndex;
 import com.boardcamp.api.services.GamesService;
 import com.boardcamp.api.services.RentalsService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @SpringBootTest
 class GamesUnitTests {
 
@@ -55,6 +70,18 @@ class GamesUnitTests {
 	@Mock
 	private RentalsRepository rentalsRepository;
 
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@InjectMocks
+	private GamesAvailabilityService gamesAvailabilityService;
+
+	@InjectMocks
+	private GamesSearchIndex gamesSearchIndex;
+
 
 	@Test
 	void givenNoGames_whenGettingGames_thenReturnsEmptyList() {
@@ -124,4 +151,180 @@ class GamesUnitTests {
 		verify(gamesRepository, times(1)).save(any());
 		assertEquals(gameModel, result);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void givenConcurrentReservations_whenReservingGame_thenOnlyDatabaseWinnersSucceed() {
+		// given
+		GamesModel game = new GamesModel(1L, "Test", "Test", 2, 10);
+
+		doReturn(1).doReturn(0).doReturn(1).when(gamesRepository).reserveCopy(1L);
+		doReturn(Optional.of(2)).when(gamesRepository).findRentedCountById(1L);
+
+		// when
+		boolean first = gamesAvailabilityService.reserve(game);
+		boolean second = gamesAvailabilityService.reserve(game);
+		boolean third = gamesAvailabilityService.reserve(game);
+		boolean fourth = gamesAvailabilityService.reserve(game);
+
+		// then
+		verify(gamesRepository, times(3)).reserveCopy(1L);
+		verify(gamesRepository, times(1)).findRentedCountById(1L);
+		assertTrue(first);
+		assertFalse(second);
+		assertTrue(third);
+		assertFalse(fourth);
+		assertEquals(2, gamesAvailabilityService.getRentedCopies(1L));
+		assertEquals(2.0, meterRegistry.counter("boardcamp.rentals.reservations", "outcome", "sold_out").count());
+	}
+
+	@Test
+	void givenCounterAheadOfDatabase_whenReservingGame_thenReservesFreeCopy() {
+		// given
+		GamesModel game = new GamesModel(6L, "Test", "Test", 2, 10);
+		game.setRentedCount(2);
+
+		doReturn(Optional.of(1)).when(gamesRepository).findRentedCountById(6L);
+		doReturn(1).when(gamesRepository).reserveCopy(6L);
+
+		// when
+		boolean reserved = gamesAvailabilityService.reserve(game);
+
+		// then
+		verify(gamesRepository, times(1)).reserveCopy(6L);
+		assertTrue(reserved);
+		assertEquals(2, gamesAvailabilityService.getRentedCopies(6L));
+	}
+
+	@Test
+	void givenRentedCopy_whenReleasingGame_thenFreesCopy() {
+		// given
+		GamesModel game = new GamesModel(2L, "Test", "Test", 1, 10);
+		game.setRentedCount(1);
+
+		doReturn(1).when(gamesRepository).releaseCopies(2L, 1);
+		doReturn(1).when(gamesRepository).reserveCopy(2L);
+
+		// when
+		gamesAvailabilityService.release(game);
+		boolean reserved = gamesAvailabilityService.reserve(game);
+
+		// then
+		verify(gamesRepository, times(1)).releaseCopies(2L, 1);
+		assertTrue(reserved);
+	}
+
+	@Test
+	void givenRentedGames_whenRebuildingCounters_thenSeedsFromOneGroupedQuery() {
+		// given
+		doReturn(List.of(rentedCount(4L, 2), rentedCount(5L, 0))).when(gamesRepository).findRentedCounts();
+
+		// when
+		gamesAvailabilityService.rebuild();
+
+		// then
+		verify(gamesRepository, times(1)).findRentedCounts();
+		verifyNoInteractions(rentalsRepository);
+		assertEquals(2, gamesAvailabilityService.getRentedCopies(4L));
+		assertEquals(0, gamesAvailabilityService.getRentedCopies(5L));
+	}
+
+	@Test
+	void givenReservationCommittingDuringReconcile_whenReconciling_thenKeepsCommittedCopy() {
+		// given
+		GamesModel game = new GamesModel(3L, "Test", "Test", 5, 10);
+		game.setRentedCount(1);
+
+		doReturn(1).when(gamesRepository).reserveCopy(3L);
+		doReturn(List.of(openRentals(3L, 1L))).when(rentalsRepository).countOpenRentalsByGame();
+		doAnswer(invocation -> {
+			commit();
+			return List.of(rentedCount(3L, 1));
+		}).when(gamesRepository).findRentedCounts();
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			gamesAvailabilityService.reserve(game);
+
+			// when
+			gamesAvailabilityService.reconcile();
+		} finally {
+			TransactionSynchronizationManager.clear();
+		}
+
+		// then
+		assertEquals(2, gamesAvailabilityService.getRentedCopies(3L));
+	}
+
+	@Test
+	void givenIndexedGames_whenSearchingByPrefix_thenIgnoresCaseAndAccentsAndRanksClosestFirst() {
+		// given
+		gamesSearchIndex.add(new GamesModel(1L, "Ticket to Ride: Europa", "ttr.png", 2, 12));
+		gamesSearchIndex.add(new GamesModel(2L, "Catan", "catan.png", 3, 15));
+		gamesSearchIndex.add(new GamesModel(3L, "Pequeno Príncipe: Catanduva", "pp.png", 1, 8));
+		gamesSearchIndex.add(new GamesModel(4L, "Catan: Cidades & Cavaleiros", "cc.png", 1, 20));
+
+		// when
+		List<GamesModel> result = gamesSearchIndex.search("CATÃN", 10);
+
+		// then
+		assertEquals(List.of(2L, 4L, 3L), result.stream().map(GamesModel::getId).toList());
+		assertEquals(List.of(1L), gamesSearchIndex.search("europa tick", 10).stream().map(GamesModel::getId).toList());
+		assertEquals(1, gamesSearchIndex.search("cat", 1).size());
+	}
+
+	@Test
+	void givenIndexedGames_whenSearchingWithTypo_thenFallsBackToFuzzyMatches() {
+		// given
+		gamesSearchIndex.add(new GamesModel(1L, "Carcassonne", "carcassonne.png", 2, 12));
+		gamesSearchIndex.add(new GamesModel(2L, "Dixit", "dixit.png", 3, 15));
+
+		// when
+		List<GamesModel> result = gamesSearchIndex.search("carcasone", 10);
+
+		// then
+		assertEquals(List.of(1L), result.stream().map(GamesModel::getId).toList());
+	}
+
+	@Test
+	void givenRemovedGame_whenSearching_thenGameIsNotReturned() {
+		// given
+		gamesSearchIndex.add(new GamesModel(1L, "Dixit", "dixit.png", 3, 15));
+		gamesSearchIndex.remove(1L);
+
+		// when
+		List<GamesModel> result = gamesSearchIndex.search("dixit", 10);
+
+		// then
+		assertTrue(result.isEmpty());
+	}
+
+	private static void commit() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+	}
+
+	private static RentedCount rentedCount(Long gameId, Integer rentedCount) {
+		return new RentedCount() {
+			public Long getGameId() {
+				return gameId;
+			}
+
+			public Integer getRentedCount() {
+				return rentedCount;
+			}
+		};
+	}
+
+	private static OpenRentalsCount openRentals(Long gameId, Long openRentals) {
+		return new OpenRentalsCount() {
+			public Long getGameId() {
+				return gameId;
+			}
+
+			public Long getOpenRentals() {
+				return openRentals;
+			}
+		};
+	}
+}
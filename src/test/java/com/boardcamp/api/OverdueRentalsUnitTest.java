@@ -0,0 +1,120 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.boardcamp.api.dtos.OverdueRentalsDTO;
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.repositories.RentalsRepository;
+import com.boardcamp.api.repositories.RentalsRepository.OverdueTotal;
+import com.boardcamp.api.services.OverdueRentalsService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+class OverdueRentalsUnitTest {
+
+    @InjectMocks
+    private OverdueRentalsService overdueRentalsService;
+
+    @Mock
+    private RentalsRepository rentalsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final LocalDate today = LocalDate.of(2025, 3, 10);
+
+    @Test
+    void givenOverdueRentals_whenRebuilding_thenSumsAccruedFees() {
+        // given
+        doReturn(List.of(total(today.minusDays(3), 2, 20), total(today.minusDays(1), 1, 5)))
+            .when(rentalsRepository).sumOverdueByDueDate(today);
+
+        // when
+        overdueRentalsService.rebuild(today);
+        OverdueRentalsDTO overdue = overdueRentalsService.getOverdueRentals(10);
+
+        // then
+        assertEquals(today, overdue.getAsOf());
+        assertEquals(3, overdue.getOverdueRentals());
+        assertEquals(25, overdue.getDailyAccrual());
+        assertEquals(65, overdue.getAccruedFees());
+    }
+
+    @Test
+    void givenNextDay_whenScanning_thenOnlyAddsNewlyDueRentals() {
+        // given
+        doReturn(List.of(total(today.minusDays(3), 2, 20))).when(rentalsRepository).sumOverdueByDueDate(today);
+        doReturn(List.of(total(today, 1, 5))).when(rentalsRepository).sumOverdueByDueDateBetween(today, today.plusDays(1));
+        overdueRentalsService.rebuild(today);
+
+        // when
+        overdueRentalsService.scan(today.plusDays(1));
+        OverdueRentalsDTO overdue = overdueRentalsService.getOverdueRentals(10);
+
+        // then
+        verify(rentalsRepository, times(1)).sumOverdueByDueDate(any());
+        assertEquals(today.plusDays(1), overdue.getAsOf());
+        assertEquals(3, overdue.getOverdueRentals());
+        assertEquals(25, overdue.getDailyAccrual());
+        assertEquals(60 + 20 + 5, overdue.getAccruedFees());
+    }
+
+    @Test
+    void givenOverdueRental_whenReturned_thenRemovesWhatItAccrued() {
+        // given
+        GamesModel game = new GamesModel(1L, "test", "url", 5, 10);
+        CustomersModel customer = new CustomersModel(1L, "test", "21999999999", "12345678901");
+        RentalsModel rental = new RentalsModel(1L, today.minusDays(6), 3, today, 30, 30, customer, game);
+        doReturn(List.of(total(today.minusDays(3), 2, 20))).when(rentalsRepository).sumOverdueByDueDate(today);
+        overdueRentalsService.rebuild(today);
+
+        // when
+        overdueRentalsService.returned(rental);
+        OverdueRentalsDTO overdue = overdueRentalsService.getOverdueRentals(10);
+
+        // then
+        assertEquals(1, overdue.getOverdueRentals());
+        assertEquals(10, overdue.getDailyAccrual());
+        assertEquals(30, overdue.getAccruedFees());
+    }
+
+    private static OverdueTotal total(LocalDate dueDate, long rentals, long dailyFee) {
+        return new OverdueTotal() {
+            @Override
+            public LocalDate getDueDate() {
+                return dueDate;
+            }
+
+            @Override
+            public Long getRentals() {
+                return rentals;
+            }
+
+            @Override
+            public Long getDailyFee() {
+                return dailyFee;
+            }
+        };
+    }
+}
@@ -0,0 +1,186 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.boardcamp.api.config.RateLimitFilter;
+import com.boardcamp.api.config.RateLimitProperties;
+import com.boardcamp.api.config.RateLimiter;
+import com.boardcamp.api.config.RateLimiter.Rule;
+import com.boardcamp.api.exceptions.RateLimitExceededException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterUnitTest {
+
+    @Test
+    void givenBurstUsedUp_whenAcquiring_thenWaitsOneIntervalPerToken() {
+        // given
+        RateLimiter rateLimiter = rateLimiter(10, 3);
+        Rule rule = rateLimiter.forRoute("POST", "/rentals").perClient();
+        long now = TimeUnit.SECONDS.toNanos(100);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(rule, "client", now));
+        }
+
+        // when
+        long wait = rateLimiter.tryAcquire(rule, "client", now);
+
+        // then
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+        assertEquals(0, rateLimiter.tryAcquire(rule, "other", now));
+        assertEquals(0, rateLimiter.tryAcquire(rule, "client", now + wait));
+    }
+
+    @Test
+    void givenIdleBuckets_whenEvicting_thenDropsOnlyFullOnes() {
+        // given
+        RateLimiter rateLimiter = rateLimiter(10, 3);
+        Rule rule = rateLimiter.forRoute("POST", "/rentals").perClient();
+        long now = TimeUnit.SECONDS.toNanos(100);
+        rateLimiter.tryAcquire(rule, "idle", now);
+        long later = now + TimeUnit.MINUTES.toNanos(20);
+        rateLimiter.tryAcquire(rule, "active", later);
+
+        // when
+        int evicted = rateLimiter.evictIdle(later + 1);
+
+        // then
+        assertEquals(1, evicted);
+        assertEquals(1, rateLimiter.getBucketCount());
+    }
+
+    @Test
+    void givenCustomerOverLimit_whenAcquiringForCustomer_thenThrowsWithRetryAfter() {
+        // given
+        RateLimiter rateLimiter = rateLimiter(1, 1);
+        rateLimiter.acquireForCustomer("rentals-create", 1L);
+
+        // when
+        RateLimitExceededException exception = assertThrows(
+            RateLimitExceededException.class,
+            () -> rateLimiter.acquireForCustomer("rentals-create", 1L));
+
+        // then
+        assertTrue(exception.getRetryAfter().toMillis() > 0);
+        rateLimiter.acquireForCustomer("rentals-create", 2L);
+        rateLimiter.acquireForCustomer("unknown", 1L);
+    }
+
+    @Test
+    void givenClientOverLimit_whenFiltering_thenRespondsTooManyRequests() throws Exception {
+        // given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter(0.5, 1));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/rentals");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+
+        // then
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+        MockFilterChain other = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/rentals"), new MockHttpServletResponse(), other);
+        assertEquals("/rentals", ((MockHttpServletRequest) other.getRequest()).getRequestURI());
+    }
+
+    @Test
+    void givenClientOverLimit_whenFiltering_thenLeavesGlobalBucketUntouched() throws Exception {
+        // given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter(0.5, 1, 2));
+        filter.doFilter(client("10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            filter.doFilter(client("10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(client("10.0.0.2"), response, new MockFilterChain());
+
+        // then
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void givenCustomerOverLimit_whenAcquiringForCustomer_thenGivesBackFilterTokens() throws Exception {
+        // given
+        RateLimiter rateLimiter = rateLimiter(0.5, 1, 2);
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter);
+        filter.doFilter(client("10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+        rateLimiter.acquireForCustomer("rentals-create", 1L);
+
+        // when
+        MockHttpServletRequest refused = client("10.0.0.2");
+        filter.doFilter(refused, new MockHttpServletResponse(), new MockFilterChain());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(refused));
+        try {
+            assertThrows(RateLimitExceededException.class, () -> rateLimiter.acquireForCustomer("rentals-create", 1L));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        MockHttpServletResponse retried = new MockHttpServletResponse();
+        filter.doFilter(client("10.0.0.2"), retried, new MockFilterChain());
+
+        // then
+        assertEquals(200, retried.getStatus());
+    }
+
+    @Test
+    void givenNonPositiveRateOrBurst_whenCreatingRateLimiter_thenFails() {
+        // when
+        IllegalArgumentException zeroRate = assertThrows(IllegalArgumentException.class, () -> rateLimiter(0, 1));
+        IllegalArgumentException negativeRate = assertThrows(IllegalArgumentException.class, () -> rateLimiter(-1, 1));
+        IllegalArgumentException zeroBurst = assertThrows(IllegalArgumentException.class, () -> rateLimiter(10, 0));
+
+        // then
+        assertTrue(zeroRate.getMessage().contains("rentals-create"));
+        assertTrue(negativeRate.getMessage().contains("rentals-create"));
+        assertTrue(zeroBurst.getMessage().contains("rentals-create"));
+    }
+
+    private static MockHttpServletRequest client(String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/rentals");
+        request.setRemoteAddr(address);
+        return request;
+    }
+
+    private static RateLimiter rateLimiter(double rate, int burst) {
+        return rateLimiter(rate, burst, 0);
+    }
+
+    // A globalBurst of 0 leaves the endpoint without a global limit.
+    private static RateLimiter rateLimiter(double rate, int burst, int globalBurst) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setRate(rate);
+        limit.setBurst(burst);
+        RateLimitProperties.Endpoint endpoint = new RateLimitProperties.Endpoint();
+        endpoint.setMethod("POST");
+        endpoint.setPath("/rentals");
+        endpoint.setPerClient(limit);
+        endpoint.setPerCustomer(limit);
+        if (globalBurst > 0) {
+            RateLimitProperties.Limit global = new RateLimitProperties.Limit();
+            global.setRate(rate);
+            global.setBurst(globalBurst);
+            endpoint.setGlobal(global);
+        }
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getEndpoints().put("rentals-create", endpoint);
+        return new RateLimiter(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,170 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.boardcamp.api.dtos.CustomersDTO;
+import com.boardcamp.api.dtos.RentalsDTO;
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.repositories.CustomersRepository;
+import com.boardcamp.api.repositories.GamesRepository;
+import com.boardcamp.api.repositories.RentalsRepository;
+import com.boardcamp.api.services.GamesAvailabilityService;
+import com.boardcamp.api.services.RentalsArchiveService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"reactive", "test"})
+public class ReactiveRentalsIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private CustomersRepository customersRepository;
+
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    @Autowired
+    private RentalsRepository rentalsRepository;
+
+    @Autowired
+    private RentalsArchiveService rentalsArchiveService;
+
+    @Autowired
+    private GamesAvailabilityService gamesAvailabilityService;
+
+    @BeforeEach
+    void cleanUp() {
+        rentalsRepository.deleteAll();
+        gamesRepository.deleteAll();
+        customersRepository.deleteAll();
+    }
+
+    @Test
+    void givenLastCopy_whenPostingTwoRentals_thenSecondIsRejected() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(null, "Test", "12345678900", "12345678910"));
+        GamesModel game = gamesRepository.save(new GamesModel(null, "test", "url", 1, 10));
+        RentalsDTO body = new RentalsDTO(customer.getId(), game.getId(), 3);
+        gamesAvailabilityService.rebuild();
+
+        // when
+        ResponseEntity<RentalsModel> first = testRestTemplate.exchange(
+            "/rentals", HttpMethod.POST, new HttpEntity<>(body), RentalsModel.class);
+        ResponseEntity<String> second = testRestTemplate.exchange(
+            "/rentals", HttpMethod.POST, new HttpEntity<>(body), String.class);
+
+        // then
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertNotNull(first.getBody().getId());
+        assertEquals(30, first.getBody().getOriginalPrice());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, second.getStatusCode());
+        assertEquals("No games available for rent.", second.getBody());
+        assertEquals(1, rentalsRepository.count());
+        assertEquals(1, rentedCount(game.getId()));
+        assertEquals(1, gamesAvailabilityService.getRentedCopies(game.getId()));
+    }
+
+    @Test
+    void givenUnknownGame_whenPostingRental_thenNotFound() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(null, "Test", "12345678900", "12345678910"));
+        RentalsDTO body = new RentalsDTO(customer.getId(), 999999L, 3);
+
+        // when
+        ResponseEntity<String> response = testRestTemplate.exchange(
+            "/rentals", HttpMethod.POST, new HttpEntity<>(body), String.class);
+
+        // then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(0, rentalsRepository.count());
+    }
+
+    @Test
+    void givenLateRental_whenReturningTwice_thenChargesFeeOnceAndReleasesCopy() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(null, "Test", "12345678900", "12345678910"));
+        GamesModel game = gamesRepository.save(new GamesModel(null, "test", "url", 1, 10, 1));
+        RentalsModel rental = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(5), 3, null, 30, 0, customer, game));
+        gamesAvailabilityService.rebuild();
+
+        // when
+        ResponseEntity<RentalsModel> first = testRestTemplate.exchange(
+            "/rentals/{id}/return", HttpMethod.POST, null, RentalsModel.class, rental.getId());
+        ResponseEntity<String> second = testRestTemplate.exchange(
+            "/rentals/{id}/return", HttpMethod.POST, null, String.class, rental.getId());
+
+        // then
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(LocalDate.now(), first.getBody().getReturnDate());
+        assertEquals(20, first.getBody().getDelayFee());
+        assertEquals(HttpStatus.BAD_REQUEST, second.getStatusCode());
+        assertEquals(0, rentedCount(game.getId()));
+        assertEquals(0, gamesAvailabilityService.getRentedCopies(game.getId()));
+    }
+
+    @Test
+    void givenArchivedRental_whenGettingAndDeleting_thenFallsBackToArchive() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(null, "Test", "12345678900", "12345678910"));
+        GamesModel game = gamesRepository.save(new GamesModel(null, "test", "url", 5, 10));
+        RentalsModel old = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(200), 3, LocalDate.now().minusDays(190), 30, 70, customer, game));
+        rentalsArchiveService.archive(LocalDate.now());
+
+        // when
+        ResponseEntity<RentalsModel> fallback = testRestTemplate.getForEntity("/rentals/{id}", RentalsModel.class, old.getId());
+        ResponseEntity<Void> deleted = testRestTemplate.exchange(
+            "/rentals/{id}", HttpMethod.DELETE, null, Void.class, old.getId());
+        ResponseEntity<String> deletedAgain = testRestTemplate.exchange(
+            "/rentals/{id}", HttpMethod.DELETE, null, String.class, old.getId());
+
+        // then
+        assertEquals(HttpStatus.OK, fallback.getStatusCode());
+        assertEquals(70, fallback.getBody().getDelayFee());
+        assertEquals(HttpStatus.NO_CONTENT, deleted.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, deletedAgain.getStatusCode());
+        assertTrue(rentalsArchiveService.findById(old.getId()).isEmpty());
+    }
+
+    @Test
+    void givenExistingCpf_whenPostingCustomer_thenConflict() {
+        // given
+        customersRepository.save(new CustomersModel(null, "Test", "12345678900", "12345678910"));
+        CustomersDTO body = new CustomersDTO("Other", "21999999999", "12345678910");
+
+        // when
+        ResponseEntity<String> response = testRestTemplate.exchange(
+            "/customers", HttpMethod.POST, new HttpEntity<>(body), String.class);
+
+        // then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    // findById is served from the games cache, which the R2DBC writes do not touch.
+    private int rentedCount(Long gameId) {
+        return gamesRepository.findRentedCounts().stream()
+            .filter(count -> count.getGameId().equals(gameId))
+            .findFirst()
+            .orElseThrow()
+            .getRentedCount();
+    }
+}
@@ -0,0 +1,13 @@
+package com.boardcamp.api;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Same seed and traffic mix as TrafficMixLoadTest, served by the WebFlux handlers
+// over R2DBC. "loadtest" comes last so its H2 URLs override the reactive profile's.
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(profiles = {"reactive", "loadtest"}, inheritProfiles = false)
+class ReactiveTrafficMixLoadTest extends TrafficMixLoadTest {
+}
@@ -0,0 +1,149 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.boardcamp.api.config.ReplicaRoutingDataSource;
+import com.boardcamp.api.dtos.CustomersDTO;
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.repositories.CustomersRepository;
+import com.boardcamp.api.repositories.GamesRepository;
+import com.boardcamp.api.repositories.RentalsRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("replicas-h2")
+public class ReadReplicasIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private CustomersRepository customersRepository;
+
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    @Autowired
+    private RentalsRepository rentalsRepository;
+
+    @Autowired
+    @Qualifier("replicaRoutingDataSource")
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Value("${spring.datasource.url}")
+    private String primaryUrl;
+
+    @Value("${boardcamp.datasource.replicas[0].url}")
+    private String replicaUrl;
+
+    // The replica starts out as an empty copy of the primary's schema.
+    @BeforeEach
+    void cleanUp() throws SQLException {
+        rentalsRepository.deleteAll();
+        gamesRepository.deleteAll();
+        customersRepository.deleteAll();
+
+        List<String> schema = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(primaryUrl, "sa", "");
+                Statement statement = primary.createStatement();
+                ResultSet script = statement.executeQuery("SCRIPT NODATA")) {
+            while (script.next()) {
+                schema.add(script.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(replicaUrl.replace(";IFEXISTS=TRUE", ""), "sa", "");
+                Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : schema) {
+                statement.execute(sql);
+            }
+        }
+        replicaRoutingDataSource.checkHealth();
+    }
+
+    @Test
+    void givenCustomerOnlyOnReplica_whenGettingCustomers_thenReadsFromReplica() throws SQLException {
+        // given
+        customersRepository.save(new CustomersModel(null, "Primary", "21999999998", "12345678900"));
+        executeOnReplica("insert into \"customers-boardcamp\" (id, name, phone, cpf) values (1, 'Replica', '21999999999', '12345678901')");
+
+        // when
+        ResponseEntity<CustomersModel[]> response = testRestTemplate.exchange(
+            "/customers", HttpMethod.GET, null, CustomersModel[].class);
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().length);
+        assertEquals("Replica", response.getBody()[0].getName());
+    }
+
+    @Test
+    void givenPostedCustomer_whenReadingWithWriteCookie_thenReadsFromPrimary() {
+        // given
+        CustomersDTO body = new CustomersDTO("Test", "21999999999", "12345678901");
+        ResponseEntity<CustomersModel> created = testRestTemplate.exchange(
+            "/customers", HttpMethod.POST, new HttpEntity<>(body), CustomersModel.class);
+        String cookie = created.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
+
+        // when
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, cookie.split(";")[0]);
+        ResponseEntity<CustomersModel[]> ownRead = testRestTemplate.exchange(
+            "/customers?cpf=12345678901", HttpMethod.GET, new HttpEntity<>(headers), CustomersModel[].class);
+        ResponseEntity<CustomersModel[]> otherRead = testRestTemplate.exchange(
+            "/customers?cpf=12345678901", HttpMethod.GET, null, CustomersModel[].class);
+
+        // then
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        assertNotNull(cookie);
+        assertEquals(1, ownRead.getBody().length);
+        assertEquals(0, otherRead.getBody().length);
+    }
+
+    @Test
+    void givenReplicaDown_whenGettingCustomers_thenFailsOverToPrimary() throws SQLException {
+        // given
+        customersRepository.save(new CustomersModel(null, "Primary", "21999999998", "12345678900"));
+        executeOnReplica("SHUTDOWN");
+        replicaRoutingDataSource.checkHealth();
+
+        // when
+        ResponseEntity<CustomersModel[]> response = testRestTemplate.exchange(
+            "/customers", HttpMethod.GET, null, CustomersModel[].class);
+
+        // then
+        assertEquals(0, replicaRoutingDataSource.getHealthyReplicaCount());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().length);
+        assertEquals("Primary", response.getBody()[0].getName());
+    }
+
+    private void executeOnReplica(String sql) throws SQLException {
+        try (Connection replica = DriverManager.getConnection(replicaUrl, "sa", "");
+                Statement statement = replica.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
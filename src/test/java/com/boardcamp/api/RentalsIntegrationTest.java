@@ -1,32 +1,54 @@
 package com.boardcamp.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.graphql.GraphQlProperties.Http;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.boardcamp.api.controllers.ReturnedRentalsCache;
+import com.boardcamp.api.dtos.OverdueRentalsDTO;
+import com.boardcamp.api.dtos.RentalsBatchResultDTO;
 import com.boardcamp.api.dtos.RentalsDTO;
+import com.boardcamp.api.dtos.RentalsReturnResultDTO;
 import com.boardcamp.api.models.CustomersModel;
 import com.boardcamp.api.models.GamesModel;
 import com.boardcamp.api.models.RentalsModel;
 import com.boardcamp.api.repositories.CustomersRepository;
 import com.boardcamp.api.repositories.GamesRepository;
 import com.boardcamp.api.repositories.RentalsRepository;
+import com.boardcamp.api.services.OverdueRentalsService;
+import com.boardcamp.api.services.RentalsArchiveService;
+
+import jakarta.persistence.EntityManagerFactory;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
 public class RentalsIntegrationTest {
  
     @Autowired
@@ -41,6 +63,18 @@ public class RentalsIntegrationTest {
     @Autowired
     private RentalsRepository rentalsRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OverdueRentalsService overdueRentalsService;
+
+    @Autowired
+    private ReturnedRentalsCache returnedRentalsCache;
+
+    @Autowired
+    private RentalsArchiveService rentalsArchiveService;
+
     @BeforeEach
     void cleanUp() {
         rentalsRepository.deleteAll();
@@ -102,6 +136,198 @@ public class RentalsIntegrationTest {
         assertEquals(0, List.of(response.getBody()).size());
     }
 
+    @Test
+    void givenMoreRentalsThanLimit_whenGettingRentals_thenReturnPagesByCursor() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(
+            null, 
+            "Test", 
+            "12345678900", 
+            "12345678910")
+            );
+        GamesModel game = gamesRepository.save(new GamesModel(
+            null, 
+            "test", 
+            "url", 
+            5, 
+            10)
+            );
+        for (int i = 0; i < 3; i++) {
+            rentalsRepository.save(new RentalsModel(
+                null, 
+                LocalDate.now(), 
+                3, 
+                null, 
+                30, 
+                0, 
+                customer, 
+                game)
+                );
+        }
+
+        // when
+        ResponseEntity<RentalsModel[]> firstPage = testRestTemplate.exchange(
+            "/rentals?limit=2&status=open&gameId=" + game.getId(), 
+            HttpMethod.GET, 
+            null, 
+            RentalsModel[].class
+            );
+        String cursor = firstPage.getHeaders().getFirst("X-Next-Cursor");
+        ResponseEntity<RentalsModel[]> secondPage = testRestTemplate.exchange(
+            "/rentals?limit=2&status=open&gameId=" + game.getId() + "&after=" + cursor, 
+            HttpMethod.GET, 
+            null, 
+            RentalsModel[].class
+            );
+
+        // then
+        assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+        assertEquals(2, firstPage.getBody().length);
+        assertEquals(firstPage.getBody()[1].getId().toString(), cursor);
+        assertEquals(HttpStatus.OK, secondPage.getStatusCode());
+        assertEquals(1, secondPage.getBody().length);
+        assertNull(secondPage.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    @Test
+    void givenRentalsOfManyCustomersAndGames_whenGettingRentals_thenLoadsPageWithOneStatement() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            CustomersModel customer = customersRepository.save(new CustomersModel(
+                null, 
+                "Test " + i, 
+                "12345678900", 
+                "1234567891" + i)
+                );
+            GamesModel game = gamesRepository.save(new GamesModel(
+                null, 
+                "test " + i, 
+                "url", 
+                5, 
+                10)
+                );
+            rentalsRepository.save(new RentalsModel(
+                null, 
+                LocalDate.now(), 
+                3, 
+                null, 
+                30, 
+                0, 
+                customer, 
+                game)
+                );
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        ResponseEntity<RentalsModel[]> response = testRestTemplate.exchange(
+            "/rentals?limit=10", 
+            HttpMethod.GET, 
+            null, 
+            RentalsModel[].class
+            );
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5, response.getBody().length);
+        assertEquals("Test 4", response.getBody()[4].getCustomer().getName());
+        assertEquals("test 4", response.getBody()[4].getGame().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenFailedRentals_whenScrapingMetrics_thenExposesTimersAndExceptionCounters() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(
+            null, 
+            "Test", 
+            "12345678900", 
+            "12345678910")
+            );
+        GamesModel game = gamesRepository.save(new GamesModel(
+            null, 
+            "test", 
+            "url", 
+            1, 
+            10)
+            );
+        HttpEntity<RentalsDTO> rental = new HttpEntity<>(new RentalsDTO(customer.getId(), game.getId(), 3));
+        testRestTemplate.exchange("/rentals", HttpMethod.POST, rental, String.class);
+        ResponseEntity<String> soldOut = testRestTemplate.exchange("/rentals", HttpMethod.POST, rental, String.class);
+        ResponseEntity<String> unknownGame = testRestTemplate.exchange(
+            "/rentals", 
+            HttpMethod.POST, 
+            new HttpEntity<>(new RentalsDTO(customer.getId(), game.getId() + 1000, 3)), 
+            String.class
+            );
+
+        // when
+        ResponseEntity<String> response = testRestTemplate.exchange(
+            "/actuator/prometheus", 
+            HttpMethod.GET, 
+            null, 
+            String.class
+            );
+
+        // then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, soldOut.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, unknownGame.getStatusCode());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String metrics = response.getBody();
+        assertTrue(hasMetric(metrics, "boardcamp_exceptions_total{", "NoGamesInStockConflictException", "status=\"422\""));
+        assertTrue(hasMetric(metrics, "boardcamp_exceptions_total{", "GamesIdConflictException", "status=\"404\""));
+        assertTrue(hasMetric(metrics, "boardcamp_service_seconds_bucket{", "RentalsService", "method=\"postRentals\""));
+        assertTrue(hasMetric(metrics, "spring_data_repository_invocations_seconds_bucket{", "GamesRepository", "method=\"reserveCopy\""));
+        assertTrue(hasMetric(metrics, "http_server_requests_seconds_bucket{", "uri=\"/rentals\""));
+    }
+
+    @Test
+    void givenExistingRentals_whenStreamingRentals_thenReturnsOneJsonLinePerRental() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(
+            null, 
+            "Test", 
+            "12345678900", 
+            "12345678910")
+            );
+        GamesModel game = gamesRepository.save(new GamesModel(
+            null, 
+            "test", 
+            "url", 
+            5, 
+            10)
+            );
+        for (int i = 0; i < 3; i++) {
+            rentalsRepository.save(new RentalsModel(
+                null, 
+                LocalDate.now(), 
+                3, 
+                null, 
+                30, 
+                0, 
+                customer, 
+                game)
+                );
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        // when
+        ResponseEntity<String> response = testRestTemplate.exchange(
+            "/rentals", 
+            HttpMethod.GET, 
+            new HttpEntity<>(headers), 
+            String.class
+            );
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().lines().count());
+        assertTrue(response.getBody().lines().allMatch(line -> line.contains("\"game\"")));
+    }
+
     @Test
     void givenNonExistingRentalId_whenGettingRentalById_thenReturnEmpty() {
         // when
@@ -194,6 +420,181 @@ public class RentalsIntegrationTest {
     }
 
 
+    @Test
+    void givenConcurrentRentalsOfSameGame_whenCreatingRentals_thenNeverOversells() throws Exception {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(
+            null, 
+            "Test", 
+            "12345678900", 
+            "12345678910")
+            );
+        GamesModel game = gamesRepository.save(new GamesModel(
+            null, 
+            "test", 
+            "url", 
+            3, 
+            10)
+            );
+
+        HttpEntity<RentalsDTO> request = new HttpEntity<>(new RentalsDTO(
+            customer.getId(), 
+            game.getId(), 
+            3
+            ));
+
+        // when
+        List<Future<ResponseEntity<String>>> responses;
+        try (ExecutorService executor = Executors.newFixedThreadPool(20)) {
+            responses = executor.invokeAll(Collections.nCopies(20, () -> testRestTemplate.exchange(
+                "/rentals", 
+                HttpMethod.POST, 
+                request, 
+                String.class
+                )));
+        }
+
+        // then
+        int created = 0;
+        for (Future<ResponseEntity<String>> response : responses) {
+            if (response.get().getStatusCode() == HttpStatus.CREATED) {
+                created++;
+            } else {
+                assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.get().getStatusCode());
+            }
+        }
+        assertEquals(3, created);
+        assertEquals(3, rentalsRepository.countByGameIdAndReturnDateIsNull(game.getId()));
+        assertEquals(3, rentedCount(game.getId()));
+    }
+
+    @Test
+    void givenMixedBatch_whenCreatingRentalsBatch_thenReturnsResultPerItem() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(
+            null, 
+            "Test", 
+            "12345678900", 
+            "12345678910")
+            );
+        GamesModel game = gamesRepository.save(new GamesModel(
+            null, 
+            "test", 
+            "url", 
+            2, 
+            10)
+            );
+
+        List<RentalsDTO> batch = List.of(
+            new RentalsDTO(customer.getId(), game.getId(), 3),
+            new RentalsDTO(customer.getId(), game.getId() + 1000, 3),
+            new RentalsDTO(customer.getId(), game.getId(), 0),
+            new RentalsDTO(customer.getId(), game.getId(), 3),
+            new RentalsDTO(customer.getId(), game.getId(), 3)
+            );
+
+        // when
+        ResponseEntity<RentalsBatchResultDTO[]> response = testRestTemplate.exchange(
+            "/rentals/batch", 
+            HttpMethod.POST, 
+            new HttpEntity<>(batch), 
+            RentalsBatchResultDTO[].class
+            );
+
+        // then
+        RentalsBatchResultDTO[] results = response.getBody();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(5, results.length);
+        assertEquals(201, results[0].getStatus());
+        assertEquals(404, results[1].getStatus());
+        assertEquals(400, results[2].getStatus());
+        assertEquals(201, results[3].getStatus());
+        assertEquals(422, results[4].getStatus());
+        assertEquals(2, rentalsRepository.countByGameIdAndReturnDateIsNull(game.getId()));
+        assertEquals(2, rentedCount(game.getId()));
+    }
+
+    @Test
+    void givenEmptyBatch_whenCreatingRentalsBatch_thenReturnsBadRequest() {
+        // when
+        ResponseEntity<String> response = testRestTemplate.exchange(
+            "/rentals/batch", 
+            HttpMethod.POST, 
+            new HttpEntity<>(List.of()), 
+            String.class
+            );
+
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void givenOpenAndReturnedRentals_whenReturningRentalsInBulk_thenReportsEachId() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(
+            null, 
+            "Test", 
+            "12345678900", 
+            "12345678910")
+            );
+        GamesModel game = gamesRepository.save(new GamesModel(
+            null, 
+            "test", 
+            "url", 
+            5, 
+            10)
+            );
+        RentalsModel late = rentalsRepository.save(new RentalsModel(
+            null, 
+            LocalDate.now().minusDays(5), 
+            3, 
+            null, 
+            30, 
+            0, 
+            customer, 
+            game)
+            );
+        RentalsModel onTime = rentalsRepository.save(new RentalsModel(
+            null, 
+            LocalDate.now(), 
+            3, 
+            null, 
+            30, 
+            0, 
+            customer, 
+            game)
+            );
+        RentalsModel returned = rentalsRepository.save(new RentalsModel(
+            null, 
+            LocalDate.now().minusDays(3), 
+            3, 
+            LocalDate.now(), 
+            30, 
+            0, 
+            customer, 
+            game)
+            );
+
+        List<Long> ids = List.of(late.getId(), onTime.getId(), returned.getId(), returned.getId() + 1000);
+
+        // when
+        ResponseEntity<RentalsReturnResultDTO> response = testRestTemplate.exchange(
+            "/rentals/return", 
+            HttpMethod.POST, 
+            new HttpEntity<>(ids), 
+            RentalsReturnResultDTO.class
+            );
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getReturned().size());
+        assertEquals(List.of(returned.getId()), response.getBody().getAlreadyReturned());
+        assertEquals(List.of(returned.getId() + 1000), response.getBody().getNotFound());
+        assertEquals(20, rentalsRepository.findById(late.getId()).get().getDelayFee());
+        assertEquals(0, rentalsRepository.findById(onTime.getId()).get().getDelayFee());
+        assertEquals(LocalDate.now(), rentalsRepository.findById(onTime.getId()).get().getReturnDate());
+    }
+
     @Test
     void givenValidRentalId_whenUpdatingRental_thenUpdatesRental() {
         // given
@@ -236,4 +637,214 @@ public class RentalsIntegrationTest {
         assertEquals(20, updatedRental.getDelayFee());
     }
 
-}   
+    @Test
+    void givenOverdueRentals_whenGettingOverdue_thenReturnsAccruedFeesAndDropsReturnedOnes() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(null, "Test", "12345678900", "12345678910"));
+        GamesModel game = gamesRepository.save(new GamesModel(null, "test", "url", 5, 10));
+        RentalsModel late = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(10), 3, null, 30, 0, customer, game));
+        RentalsModel later = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(5), 3, null, 30, 0, customer, game));
+        rentalsRepository.save(new RentalsModel(null, LocalDate.now(), 3, null, 30, 0, customer, game));
+        rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(10), 3, LocalDate.now().minusDays(2), 30, 50, customer, game));
+        overdueRentalsService.rebuild();
+
+        // when
+        OverdueRentalsDTO before = testRestTemplate.getForObject("/rentals/overdue", OverdueRentalsDTO.class);
+        testRestTemplate.postForEntity("/rentals/" + late.getId() + "/return", null, String.class);
+        OverdueRentalsDTO after = testRestTemplate.getForObject("/rentals/overdue", OverdueRentalsDTO.class);
+
+        // then
+        assertEquals(LocalDate.now().minusDays(7), late.getDueDate());
+        assertEquals(2, before.getOverdueRentals());
+        assertEquals(20, before.getDailyAccrual());
+        assertEquals(70 + 20, before.getAccruedFees());
+        assertEquals(List.of(late.getId(), later.getId()), before.getRentals().stream().map(RentalsModel::getId).toList());
+        assertEquals(1, after.getOverdueRentals());
+        assertEquals(20, after.getAccruedFees());
+        assertEquals(List.of(later.getId()), after.getRentals().stream().map(RentalsModel::getId).toList());
+    }
+
+    @Test
+    void givenReturnedRental_whenGettingById_thenServesCachedBodyUntilDeleted() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(null, "Test", "12345678900", "12345678910"));
+        GamesModel game = gamesRepository.save(new GamesModel(null, "test", "url", 5, 10));
+        RentalsModel open = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(5), 3, null, 30, 0, customer, game));
+        RentalsModel returned = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(5), 3, null, 30, 0, customer, game));
+        RentalsModel reprinted = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(5), 3, LocalDate.now(), 30, 20, customer, game));
+        testRestTemplate.postForEntity("/rentals/" + returned.getId() + "/return", null, String.class);
+        long sizeAfterReturn = returnedRentalsCache.getWeightedSize();
+
+        // when
+        ResponseEntity<RentalsModel> first = testRestTemplate.getForEntity("/rentals/" + returned.getId(), RentalsModel.class);
+        rentalsRepository.deleteById(returned.getId());
+        ResponseEntity<RentalsModel> cached = testRestTemplate.getForEntity("/rentals/" + returned.getId(), RentalsModel.class);
+        ResponseEntity<RentalsModel> openRental = testRestTemplate.getForEntity("/rentals/" + open.getId(), RentalsModel.class);
+        ResponseEntity<RentalsModel> firstRead = testRestTemplate.getForEntity("/rentals/" + reprinted.getId(), RentalsModel.class);
+        testRestTemplate.delete("/rentals/" + reprinted.getId());
+        // A GET that read the row before the delete finishing after it.
+        returnedRentalsCache.put(firstRead.getBody());
+        ResponseEntity<String> deleted = testRestTemplate.getForEntity("/rentals/" + reprinted.getId(), String.class);
+
+        // then
+        assertTrue(sizeAfterReturn > 0);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(20, first.getBody().getDelayFee());
+        assertEquals(HttpStatus.OK, cached.getStatusCode());
+        assertEquals(first.getHeaders().getETag(), cached.getHeaders().getETag());
+        assertEquals(LocalDate.now(), cached.getBody().getReturnDate());
+        assertEquals(HttpStatus.OK, openRental.getStatusCode());
+        assertNull(openRental.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, firstRead.getStatusCode());
+        assertTrue(firstRead.getHeaders().getETag() != null);
+        assertEquals(HttpStatus.NOT_FOUND, deleted.getStatusCode());
+    }
+
+    @Test
+    void givenOldReturnedRentals_whenArchiving_thenMovesThemAndReadsFallBackToArchive() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(null, "Test", "12345678900", "12345678910"));
+        GamesModel game = gamesRepository.save(new GamesModel(null, "test", "url", 5, 10));
+        RentalsModel old = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(200), 3, LocalDate.now().minusDays(190), 30, 70, customer, game));
+        RentalsModel older = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(300), 3, LocalDate.now().minusDays(297), 30, 0, customer, game));
+        RentalsModel recent = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(10), 3, LocalDate.now().minusDays(5), 30, 20, customer, game));
+        RentalsModel open = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(200), 3, null, 30, 0, customer, game));
+
+        // when
+        int archived = rentalsArchiveService.archive(LocalDate.now());
+        ResponseEntity<RentalsModel> fallback = testRestTemplate.getForEntity("/rentals/" + old.getId(), RentalsModel.class);
+        ResponseEntity<String> returnAgain = testRestTemplate.postForEntity("/rentals/" + old.getId() + "/return", null, String.class);
+        ResponseEntity<Void> deleted = testRestTemplate.exchange("/rentals/" + older.getId(), HttpMethod.DELETE, null, Void.class);
+
+        // then
+        assertEquals(2, archived);
+        assertTrue(rentalsRepository.findById(old.getId()).isEmpty());
+        assertTrue(rentalsRepository.findById(recent.getId()).isPresent());
+        assertTrue(rentalsRepository.findById(open.getId()).isPresent());
+        assertEquals(HttpStatus.OK, fallback.getStatusCode());
+        assertEquals(70, fallback.getBody().getDelayFee());
+        assertEquals(game.getId(), fallback.getBody().getGame().getId());
+        assertEquals(HttpStatus.BAD_REQUEST, returnAgain.getStatusCode());
+        assertEquals(HttpStatus.NO_CONTENT, deleted.getStatusCode());
+        assertTrue(rentalsArchiveService.findById(older.getId()).isEmpty());
+    }
+
+    @Test
+    void givenSameIdempotencyKey_whenCreatingRentalConcurrently_thenCreatesOneRental() throws Exception {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(
+            null, 
+            "Test", 
+            "12345678900", 
+            "12345678910")
+            );
+        GamesModel game = gamesRepository.save(new GamesModel(
+            null, 
+            "test", 
+            "url", 
+            3, 
+            10)
+            );
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        HttpEntity<RentalsDTO> request = new HttpEntity<>(new RentalsDTO(
+            customer.getId(), 
+            game.getId(), 
+            3
+            ), headers);
+
+        // when
+        List<Future<ResponseEntity<RentalsModel>>> responses;
+        try (ExecutorService executor = Executors.newFixedThreadPool(10)) {
+            responses = executor.invokeAll(Collections.nCopies(10, () -> testRestTemplate.exchange(
+                "/rentals", 
+                HttpMethod.POST, 
+                request, 
+                RentalsModel.class
+                )));
+        }
+        ResponseEntity<RentalsModel> replayed = testRestTemplate.exchange(
+            "/rentals", 
+            HttpMethod.POST, 
+            request, 
+            RentalsModel.class
+            );
+        ResponseEntity<String> mismatched = testRestTemplate.exchange(
+            "/rentals", 
+            HttpMethod.POST, 
+            new HttpEntity<>(new RentalsDTO(customer.getId(), game.getId(), 5), headers), 
+            String.class
+            );
+
+        // then
+        Long id = replayed.getBody().getId();
+        for (Future<ResponseEntity<RentalsModel>> response : responses) {
+            assertEquals(HttpStatus.CREATED, response.get().getStatusCode());
+            assertEquals(id, response.get().getBody().getId());
+        }
+        assertEquals(HttpStatus.CREATED, replayed.getStatusCode());
+        assertEquals("true", replayed.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, mismatched.getStatusCode());
+        assertEquals(1, rentalsRepository.countByGameIdAndReturnDateIsNull(game.getId()));
+        assertEquals(1, rentedCount(game.getId()));
+    }
+
+    @Test
+    void givenCustomerOverRateLimit_whenCreatingRentals_thenReturnsTooManyRequests() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(
+            null, 
+            "Test", 
+            "12345678900", 
+            "12345678910")
+            );
+        GamesModel game = gamesRepository.save(new GamesModel(
+            null, 
+            "test", 
+            "url", 
+            100, 
+            10)
+            );
+        HttpEntity<RentalsDTO> request = new HttpEntity<>(new RentalsDTO(
+            customer.getId(), 
+            game.getId(), 
+            3
+            ));
+
+        // when
+        ResponseEntity<String> response;
+        int created = 0;
+        do {
+            response = testRestTemplate.exchange("/rentals", HttpMethod.POST, request, String.class);
+        } while (response.getStatusCode() == HttpStatus.CREATED && ++created < 100);
+
+        // then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertTrue(created >= 20 && created < 100);
+        assertTrue(Long.parseLong(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)) >= 1);
+        assertEquals(created, rentalsRepository.countByGameIdAndReturnDateIsNull(game.getId()));
+    }
+
+    private int rentedCount(Long gameId) {
+        return gamesRepository.findRentedCounts().stream()
+            .filter(count -> count.getGameId().equals(gameId))
+            .findFirst()
+            .orElseThrow()
+            .getRentedCount();
+    }
+
+    private static boolean hasMetric(String metrics, String... parts) {
+        return metrics.lines().anyMatch(line -> Arrays.stream(parts).allMatch(line::contains));
+    }
+}
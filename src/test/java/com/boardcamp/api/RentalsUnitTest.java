@@ -2,10 +2,12 @@ package com.boardcamp.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -18,12 +20,16 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
 
 import com.boardcamp.api.dtos.CustomersDTO;
 import com.boardcamp.api.dtos.GamesDTO;
 import com.boardcamp.api.dtos.RentalsDTO;
+import com.boardcamp.api.dtos.RentalsFilterDTO;
+import com.boardcamp.api.dtos.RentalsPageDTO;
 import com.boardcamp.api.exceptions.CustomersIdConflictException;
 import com.boardcamp.api.exceptions.GamesIdConflictException;
+import com.boardcamp.api.exceptions.NoGamesInStockConflictException;
 import com.boardcamp.api.exceptions.RentalsIdConflictException;
 import com.boardcamp.api.exceptions.ReturnDateConflictException;
 import com.boardcamp.api.models.CustomersModel;
@@ -33,8 +39,12 @@ import com.boardcamp.api.repositories.CustomersRepository;
 import com.boardcamp.api.repositories.GamesRepository;
 import com.boardcamp.api.repositories.RentalsRepository;
 import com.boardcamp.api.services.CustomersService;
+import com.boardcamp.api.services.GamesAvailabilityService;
 import com.boardcamp.api.services.GamesService;
+import com.boardcamp.api.services.OverdueRentalsService;
+import com.boardcamp.api.services.RentalsArchiveService;
 import com.boardcamp.api.services.RentalsService;
+import com.boardcamp.api.services.RevenueRollupService;
 
 @SpringBootTest
 class RentalsUnitTest {
@@ -57,6 +67,18 @@ class RentalsUnitTest {
 	@Mock
 	private RentalsRepository rentalsRepository;
 
+	@Mock
+	private GamesAvailabilityService gamesAvailabilityService;
+
+	@Mock
+	private OverdueRentalsService overdueRentalsService;
+
+	@Mock
+	private RevenueRollupService revenueRollupService;
+
+	@Mock
+	private RentalsArchiveService rentalsArchiveService;
+
     @Test
     void givenExistingRentals_whenGettingAllRentals_thenReturnList() {
         // Given 
@@ -64,30 +86,54 @@ class RentalsUnitTest {
         RentalsModel rental2 = new RentalsModel();
         List<RentalsModel> mockRentals = List.of(rental1, rental2);
 
-        doReturn(mockRentals).when(rentalsRepository).findAll();
+        doReturn(mockRentals).when(rentalsRepository).findBy(any(Specification.class), any());
 
         // When
-        List<RentalsModel> result = rentalsService.getRentals();
+        RentalsPageDTO result = rentalsService.getRentals(new RentalsFilterDTO());
 
         // Then 
-        verify(rentalsRepository, times(1)).findAll(); 
+        verify(rentalsRepository, times(1)).findBy(any(Specification.class), any()); 
         assertNotNull(result);                         
-        assertEquals(2, result.size());               
-        assertEquals(mockRentals, result);            
+        assertEquals(2, result.getRentals().size());               
+        assertEquals(mockRentals, result.getRentals());            
+        assertNull(result.getNextCursor());
     }
     
     @Test
     void givenNoRentals_whenGettingAllRentals_thenReturnEmptyList() {
         // Given
-        doReturn(Collections.emptyList()).when(rentalsRepository).findAll();
+        doReturn(Collections.emptyList()).when(rentalsRepository).findBy(any(Specification.class), any());
 
         // When
-        List<RentalsModel> result = rentalsService.getRentals();
+        RentalsPageDTO result = rentalsService.getRentals(new RentalsFilterDTO());
 
         // Then
-        verify(rentalsRepository, times(1)).findAll();
+        verify(rentalsRepository, times(1)).findBy(any(Specification.class), any());
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.getRentals().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void givenMoreRentalsThanLimit_whenGettingRentals_thenReturnPageWithNextCursor() {
+        // Given
+        RentalsModel rental1 = new RentalsModel();
+        rental1.setId(1L);
+        RentalsModel rental2 = new RentalsModel();
+        rental2.setId(2L);
+        RentalsModel rental3 = new RentalsModel();
+        rental3.setId(3L);
+        RentalsFilterDTO filter = new RentalsFilterDTO();
+        filter.setLimit(2);
+
+        doReturn(List.of(rental1, rental2, rental3)).when(rentalsRepository).findBy(any(Specification.class), any());
+
+        // When
+        RentalsPageDTO result = rentalsService.getRentals(filter);
+
+        // Then
+        assertEquals(List.of(rental1, rental2), result.getRentals());
+        assertEquals(2L, result.getNextCursor());
     }
 
     @Test
@@ -104,6 +150,44 @@ class RentalsUnitTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void givenArchivedRentalId_whenGettingRentalById_thenReturnArchivedRental() {
+        // Given
+        RentalsModel archived = new RentalsModel();
+        archived.setId(1L);
+        doReturn(Optional.empty()).when(rentalsRepository).findById(1L);
+        doReturn(Optional.of(archived)).when(rentalsArchiveService).findById(1L);
+
+        // When
+        Optional<RentalsModel> result = rentalsService.getRentalsById(1L);
+
+        // Then
+        verify(rentalsRepository, times(1)).findById(1L);
+        verify(rentalsArchiveService, times(1)).findById(1L);
+        assertEquals(archived, result.get());
+    }
+
+    @Test
+    void givenArchivedRentalDeletedConcurrently_whenDeletingRental_thenThrowsError() {
+        // Given
+        RentalsModel archived = new RentalsModel();
+        archived.setId(1L);
+        archived.setReturnDate(LocalDate.now().minusDays(100));
+        doReturn(Optional.empty()).when(rentalsRepository).findByIdForUpdate(1L);
+        doReturn(Optional.of(archived)).when(rentalsArchiveService).findById(1L);
+        doReturn(false).when(rentalsArchiveService).deleteById(1L);
+
+        // When
+        RentalsIdConflictException exception = assertThrows(
+            RentalsIdConflictException.class,
+            () -> rentalsService.deleteRentals(1L));
+
+        // Then
+        verify(rentalsArchiveService, times(1)).deleteById(1L);
+        verify(revenueRollupService, never()).deleted(any());
+        assertEquals("Rental ID does not exist.", exception.getMessage());
+    }
+
     @Test
     void givenExistingRentalId_whenGettingRentalById_thenReturnRental() {
         // Given
@@ -175,6 +259,7 @@ class RentalsUnitTest {
 
 		doReturn(Optional.of(gameModel)).when(gamesRepository).findById(any());
 		doReturn(Optional.of(customerModel)).when(customersRepository).findById(any());
+		doReturn(true).when(gamesAvailabilityService).reserve(any());
 		doReturn(rentalModel).when(rentalsRepository).save(any());
 
 		// when
@@ -183,11 +268,37 @@ class RentalsUnitTest {
 		// then
 		verify(gamesRepository, times(1)).findById(any());
 		verify(customersRepository, times(1)).findById(any());
+		verify(gamesAvailabilityService, times(1)).reserve(gameModel);
+		verify(rentalsRepository, times(0)).countByGameIdAndReturnDateIsNull(any());
 		verify(rentalsRepository, times(1)).save(any());
+		verify(revenueRollupService, times(1)).rented(List.of(rentalModel));
 		assertEquals(rentalModel, result);
 	
 	}
 
+	@Test
+	void givenNoCopiesAvailable_whenCreatingRental_thenThrowsError() {
+		// given
+		GamesDTO game = new GamesDTO("Test", "Test", 5, 10);
+		CustomersDTO customer = new CustomersDTO("Test", "12345678900", "2000-01-01");	
+		RentalsDTO rental = new RentalsDTO(1L, 1L, 5);
+		GamesModel gameModel = new GamesModel(game);
+		CustomersModel customerModel = new CustomersModel(customer);
+
+		doReturn(Optional.of(gameModel)).when(gamesRepository).findById(any());
+		doReturn(Optional.of(customerModel)).when(customersRepository).findById(any());
+		doReturn(false).when(gamesAvailabilityService).reserve(any());
+
+		// when
+		NoGamesInStockConflictException exception = assertThrows(
+			NoGamesInStockConflictException.class,
+			() -> rentalsService.postRentals(rental));
+
+		// then
+		verify(rentalsRepository, times(0)).save(any());
+		assertEquals("No games available for rent.", exception.getMessage());
+	}
+
     @Test
     void givenWrongRentalId_whenUpdatingRental_thenThrowsError() {
         // given
@@ -198,7 +309,7 @@ class RentalsUnitTest {
 		CustomersModel customerModel = new CustomersModel(customer);
 		RentalsModel rentalModel = new RentalsModel(rental, gameModel, customerModel);
 
-        doReturn(Optional.empty()).when(rentalsRepository).findById(any());
+        doReturn(Optional.empty()).when(rentalsRepository).findByIdForUpdate(any());
 
         // when
         RentalsIdConflictException exception = assertThrows(
@@ -206,7 +317,7 @@ class RentalsUnitTest {
             () -> rentalsService.updateRentals(1L));
 
         // then
-        verify(rentalsRepository, times(1)).findById(any());
+        verify(rentalsRepository, times(1)).findByIdForUpdate(any());
         assertNotNull(exception);
         assertEquals("Rental ID does not exist.", exception.getMessage());
     }
@@ -224,7 +335,7 @@ class RentalsUnitTest {
         rentalModel.setReturnDate(LocalDate.now());
 
 
-        doReturn(Optional.of(rentalModel)).when(rentalsRepository).findById(any());
+        doReturn(Optional.of(rentalModel)).when(rentalsRepository).findByIdForUpdate(any());
 
         // when
         ReturnDateConflictException exception = assertThrows(
@@ -232,7 +343,7 @@ class RentalsUnitTest {
             () -> rentalsService.updateRentals(1L));
 
         // then
-        verify(rentalsRepository, times(1)).findById(any());
+        verify(rentalsRepository, times(1)).findByIdForUpdate(any());
         assertNotNull(exception);
         assertEquals("Rental has already been returned.", exception.getMessage());
     }
@@ -247,15 +358,17 @@ class RentalsUnitTest {
 		CustomersModel customerModel = new CustomersModel(customer);
 		RentalsModel rentalModel = new RentalsModel(rental, gameModel, customerModel);
 
-        doReturn(Optional.of(rentalModel)).when(rentalsRepository).findById(any());
+        doReturn(Optional.of(rentalModel)).when(rentalsRepository).findByIdForUpdate(any());
         doReturn(rentalModel).when(rentalsRepository).save(any());
 
         // when
         RentalsModel result = rentalsService.updateRentals(1L);
 
         // then
-        verify(rentalsRepository, times(1)).findById(any());
+        verify(rentalsRepository, times(1)).findByIdForUpdate(any());
         verify(rentalsRepository, times(1)).save(any());
+        verify(gamesAvailabilityService, times(1)).release(any());
+        verify(revenueRollupService, times(1)).returned(List.of(rentalModel));
         assertEquals(rentalModel, result);
     }
 }
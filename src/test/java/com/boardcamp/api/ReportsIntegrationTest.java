@@ -0,0 +1,184 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.boardcamp.api.dtos.RentalsDTO;
+import com.boardcamp.api.dtos.UtilizationReportDTO;
+import com.boardcamp.api.models.CustomerRevenueDailyModel;
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.models.GameRevenueDailyModel;
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.repositories.CustomerRevenueDailyRepository;
+import com.boardcamp.api.repositories.CustomersRepository;
+import com.boardcamp.api.repositories.GameRevenueDailyRepository;
+import com.boardcamp.api.repositories.GamesRepository;
+import com.boardcamp.api.repositories.RentalsRepository;
+import com.boardcamp.api.services.RentalsArchiveService;
+import com.boardcamp.api.services.RevenueRollupService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ReportsIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private CustomersRepository customersRepository;
+
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    @Autowired
+    private RentalsRepository rentalsRepository;
+
+    @Autowired
+    private GameRevenueDailyRepository gameRevenueRepository;
+
+    @Autowired
+    private CustomerRevenueDailyRepository customerRevenueRepository;
+
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired
+    private RentalsArchiveService rentalsArchiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from \"rentals-archive-boardcamp\"");
+        rentalsRepository.deleteAll();
+        gamesRepository.deleteAll();
+        customersRepository.deleteAll();
+        gameRevenueRepository.deleteAllInBatch();
+        customerRevenueRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void givenRentalWrites_whenRebuildingRollups_thenIncrementalRollupsMatchBackfill() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(null, "Test", "12345678900", "12345678910"));
+        GamesModel game = gamesRepository.save(new GamesModel(null, "test", "url", 5, 10));
+        RentalsModel late = rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(5), 3, null, 30, 0, customer, game));
+        revenueRollupService.rebuild();
+
+        // when
+        RentalsModel first = testRestTemplate.postForObject("/rentals", new RentalsDTO(customer.getId(), game.getId(), 2), RentalsModel.class);
+        RentalsModel second = testRestTemplate.postForObject("/rentals", new RentalsDTO(customer.getId(), game.getId(), 4), RentalsModel.class);
+        testRestTemplate.postForEntity("/rentals/batch", List.of(new RentalsDTO(customer.getId(), game.getId(), 1)), String.class);
+        testRestTemplate.postForEntity("/rentals/" + late.getId() + "/return", null, String.class);
+        testRestTemplate.postForEntity("/rentals/return", List.of(first.getId()), String.class);
+        testRestTemplate.postForEntity("/rentals/" + second.getId() + "/return", null, String.class);
+        ResponseEntity<String> deleted = testRestTemplate.exchange(
+            "/rentals/" + second.getId(), HttpMethod.DELETE, null, String.class);
+
+        List<GameRevenueDailyModel> incrementalGames = gameRows();
+        List<CustomerRevenueDailyModel> incrementalCustomers = customerRows();
+        revenueRollupService.rebuild();
+
+        // then
+        assertEquals(HttpStatus.NO_CONTENT, deleted.getStatusCode());
+        assertEquals(gameRows(), incrementalGames);
+        assertEquals(customerRows(), incrementalCustomers);
+        GameRevenueDailyModel today = incrementalGames.stream()
+            .filter(row -> row.getDay().equals(LocalDate.now()))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(2, today.getRentals());
+        assertEquals(3, today.getDaysRented());
+        assertEquals(2, today.getReturned());
+        assertEquals(20 + 10 + 20, today.getRevenue());
+    }
+
+    @Test
+    void givenArchivedRentals_whenRebuildingRollups_thenAddsThemToSameDays() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(null, "Test", "12345678900", "12345678910"));
+        GamesModel game = gamesRepository.save(new GamesModel(null, "test", "url", 5, 10));
+        LocalDate rentDate = LocalDate.now().minusDays(200);
+        rentalsRepository.save(new RentalsModel(null, rentDate, 3, rentDate.plusDays(10), 30, 70, customer, game));
+        rentalsRepository.save(new RentalsModel(null, rentDate, 2, null, 20, 0, customer, game));
+        rentalsArchiveService.archive(LocalDate.now());
+
+        // when
+        revenueRollupService.rebuild();
+
+        // then
+        List<GameRevenueDailyModel> rows = gameRows();
+        assertEquals(2, rows.size());
+        assertEquals(rentDate, rows.get(0).getDay());
+        assertEquals(2, rows.get(0).getRentals());
+        assertEquals(5, rows.get(0).getDaysRented());
+        assertEquals(50, rows.get(0).getRevenue());
+        assertEquals(70, rows.get(1).getRevenue());
+        assertEquals(120L, customerRows().stream().mapToLong(CustomerRevenueDailyModel::getRevenue).sum());
+    }
+
+    @Test
+    void givenRollups_whenGettingReports_thenReturnsRevenueAndUtilization() {
+        // given
+        CustomersModel customer = customersRepository.save(new CustomersModel(null, "Test", "12345678900", "12345678910"));
+        GamesModel game = gamesRepository.save(new GamesModel(null, "test", "url", 2, 10));
+        rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(3), 3, LocalDate.now().minusDays(1), 30, 10, customer, game));
+        rentalsRepository.save(new RentalsModel(
+            null, LocalDate.now().minusDays(2), 1, null, 10, 0, customer, game));
+        revenueRollupService.rebuild();
+        String range = "?from=" + LocalDate.now().minusDays(3) + "&to=" + LocalDate.now();
+
+        // when
+        ResponseEntity<List<GameRevenueDailyModel>> byGame = testRestTemplate.exchange(
+            "/reports/revenue" + range, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+        ResponseEntity<List<CustomerRevenueDailyModel>> byCustomer = testRestTemplate.exchange(
+            "/reports/revenue" + range + "&by=customer", HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+        ResponseEntity<List<UtilizationReportDTO>> utilization = testRestTemplate.exchange(
+            "/reports/utilization" + range, HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+        ResponseEntity<String> backwards = testRestTemplate.getForEntity(
+            "/reports/utilization?from=" + LocalDate.now() + "&to=" + LocalDate.now().minusDays(1), String.class);
+
+        // then
+        assertEquals(HttpStatus.OK, byGame.getStatusCode());
+        assertEquals(List.of(30L, 10L, 10L), byGame.getBody().stream().map(GameRevenueDailyModel::getRevenue).toList());
+        assertEquals(50L, byCustomer.getBody().stream().mapToLong(CustomerRevenueDailyModel::getRevenue).sum());
+        UtilizationReportDTO report = utilization.getBody().get(0);
+        assertEquals(2, report.getRentals());
+        assertEquals(1, report.getReturned());
+        assertEquals(4, report.getDaysRented());
+        assertEquals(50, report.getRevenue());
+        assertEquals(4.0 / (2 * 4), report.getUtilization());
+        assertEquals(HttpStatus.BAD_REQUEST, backwards.getStatusCode());
+    }
+
+    private List<GameRevenueDailyModel> gameRows() {
+        return gameRevenueRepository.findAll().stream()
+            .sorted(Comparator.comparing(GameRevenueDailyModel::getDay))
+            .toList();
+    }
+
+    private List<CustomerRevenueDailyModel> customerRows() {
+        return customerRevenueRepository.findAll().stream()
+            .sorted(Comparator.comparing(CustomerRevenueDailyModel::getDay))
+            .toList();
+    }
+}
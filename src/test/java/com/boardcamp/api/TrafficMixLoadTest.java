@@ -0,0 +1,354 @@
+package com.boardcamp.api;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.boardcamp.api.models.CustomersModel;
+import com.boardcamp.api.models.GamesModel;
+import com.boardcamp.api.models.RentalsModel;
+import com.boardcamp.api.repositories.CustomersRepository;
+import com.boardcamp.api.repositories.GamesRepository;
+import com.boardcamp.api.repositories.RentalsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Drives the production traffic mix (80% catalog reads, 15% rentals, 5% returns)
+// against the app on in-memory H2 and reports throughput and latency percentiles
+// per endpoint, also written to target/loadtest-report-<mode>.csv. Peak heap and
+// live threads during the run go to target/loadtest-resources-<mode>.csv. Excluded
+// from the default build; run with: mvn test -Ploadtest [-Dloadtest.concurrency=64 ...]
+// VirtualThreadsTrafficMixLoadTest and ReactiveTrafficMixLoadTest replay the same
+// load with virtual threads and on the WebFlux/R2DBC stack.
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class TrafficMixLoadTest {
+
+    private static final String[] FIRST_NAMES = {"Maria", "Joao", "Ana", "Pedro", "Lucia", "Carlos", "Beatriz", "Rafael"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Costa"};
+    private static final String[] TITLE_WORDS = {"Catan", "Ticket", "Dixit", "Azul", "Pandemic", "Carcassonne", "Codenames", "Splendor"};
+    private static final int SEED_CHUNK = 1000;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${loadtest.concurrency:32}")
+    private int concurrency;
+
+    @Value("${loadtest.warmup:PT10S}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration:PT30S}")
+    private Duration duration;
+
+    @Value("${loadtest.games:2000}")
+    private int games;
+
+    @Value("${loadtest.customers:20000}")
+    private int customers;
+
+    @Value("${loadtest.rentals:50000}")
+    private int rentals;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${spring.main.web-application-type:servlet}")
+    private String webApplicationType;
+
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    @Autowired
+    private CustomersRepository customersRepository;
+
+    @Autowired
+    private RentalsRepository rentalsRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentLinkedQueue<Long> openRentals = new ConcurrentLinkedQueue<>();
+    private List<Long> gameIds;
+    private List<CustomersModel> seededCustomers;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void seed() {
+        List<GamesModel> seededGames = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            String name = TITLE_WORDS[i % TITLE_WORDS.length] + " " + TITLE_WORDS[(i / 8) % TITLE_WORDS.length] + " " + i;
+            seededGames.add(new GamesModel(null, name, "https://example.com/" + i + ".png", 1_000_000, 10 + i % 20));
+        }
+        seededGames = saveInChunks(seededGames, gamesRepository::saveAll);
+        gameIds = seededGames.stream().map(GamesModel::getId).toList();
+
+        List<CustomersModel> newCustomers = new ArrayList<>();
+        for (int i = 0; i < customers; i++) {
+            String name = FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[i % LAST_NAMES.length] + " " + i;
+            newCustomers.add(new CustomersModel(null, name, String.format("21%09d", i), String.format("%011d", i)));
+        }
+        seededCustomers = saveInChunks(newCustomers, customersRepository::saveAll);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<RentalsModel> newRentals = new ArrayList<>();
+        for (int i = 0; i < rentals; i++) {
+            GamesModel game = seededGames.get(random.nextInt(seededGames.size()));
+            CustomersModel customer = seededCustomers.get(random.nextInt(seededCustomers.size()));
+            LocalDate rentDate = LocalDate.now().minusDays(random.nextInt(30));
+            boolean returned = i % 2 == 0;
+            newRentals.add(new RentalsModel(
+                null, rentDate, 3, returned ? rentDate.plusDays(3) : null, 3 * game.getPricePerDay(), 0, customer, game));
+        }
+        saveInChunks(newRentals, rentalsRepository::saveAll).stream()
+            .filter(rental -> rental.getReturnDate() == null)
+            .forEach(rental -> openRentals.add(rental.getId()));
+
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @Test
+    void trafficMix() throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        ResourceSampler resources = new ResourceSampler(measureFrom);
+        List<Future<Map<String, Samples>>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(concurrency)) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> drive(measureFrom, end)));
+            }
+        } finally {
+            resources.stop();
+        }
+
+        Map<String, Samples> merged = new LinkedHashMap<>();
+        for (Future<Map<String, Samples>> worker : workers) {
+            worker.get().forEach((endpoint, samples) -> merged.computeIfAbsent(endpoint, key -> new Samples()).addAll(samples));
+        }
+
+        long requests = report(merged, duration.toNanos() / 1e9);
+        report(resources);
+        long errors = merged.values().stream().mapToLong(samples -> samples.errors).sum();
+        assertTrue(requests > 0);
+        assertTrue(errors * 100 < requests, errors + " of " + requests + " requests failed");
+    }
+
+    private Map<String, Samples> drive(long measureFrom, long end) throws IOException, InterruptedException {
+        Map<String, Samples> samples = new LinkedHashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            int roll = random.nextInt(100);
+            String endpoint;
+            HttpRequest request;
+            if (roll < 50) {
+                endpoint = "GET /games";
+                request = get("/games");
+            } else if (roll < 70) {
+                endpoint = "GET /games?name=";
+                request = get("/games?name=" + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)].substring(0, 3));
+            } else if (roll < 80) {
+                endpoint = "GET /customers?cpf=";
+                request = get("/customers?cpf=" + seededCustomers.get(random.nextInt(seededCustomers.size())).getCpf());
+            } else if (roll < 95 || openRentals.isEmpty()) {
+                endpoint = "POST /rentals";
+                String body = String.format("{\"customerId\":%d,\"gameId\":%d,\"daysRented\":%d}",
+                    seededCustomers.get(random.nextInt(seededCustomers.size())).getId(),
+                    gameIds.get(random.nextInt(gameIds.size())),
+                    1 + random.nextInt(7));
+                request = post("/rentals", body);
+            } else {
+                Long id = openRentals.poll();
+                if (id == null) {
+                    continue;
+                }
+                endpoint = "POST /rentals/{id}/return";
+                request = post("/rentals/" + id + "/return", "");
+            }
+
+            long started = System.nanoTime();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - started;
+
+            if (endpoint.equals("POST /rentals") && response.statusCode() == 201) {
+                openRentals.add(objectMapper.readTree(response.body()).get("id").asLong());
+            }
+            if (started >= measureFrom) {
+                samples.computeIfAbsent(endpoint, key -> new Samples()).add(elapsed, response.statusCode() >= 400);
+            }
+        }
+        return samples;
+    }
+
+    private long report(Map<String, Samples> results, double seconds) throws IOException {
+        String mode = mode();
+        Path csv = Path.of("target", "loadtest-report-" + mode + ".csv");
+        Files.createDirectories(csv.getParent());
+        long total = 0;
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv))) {
+            writer.println("endpoint,requests,errors,throughput_rps,p50_ms,p99_ms,p999_ms");
+            System.out.printf("%n%s, concurrency %d%n", mode, concurrency);
+            System.out.printf("%-28s %9s %7s %10s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms");
+            for (Map.Entry<String, Samples> entry : results.entrySet()) {
+                Samples samples = entry.getValue();
+                long[] sorted = samples.sorted();
+                double throughput = sorted.length / seconds;
+                double p50 = percentile(sorted, 0.50);
+                double p99 = percentile(sorted, 0.99);
+                double p999 = percentile(sorted, 0.999);
+                total += sorted.length;
+                System.out.printf("%-28s %9d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), sorted.length, samples.errors, throughput, p50, p99, p999);
+                writer.printf("%s,%d,%d,%.1f,%.3f,%.3f,%.3f%n",
+                    entry.getKey(), sorted.length, samples.errors, throughput, p50, p99, p999);
+            }
+            System.out.printf("%-28s %9d %7s %10.1f%n%n", "total", total, "", total / seconds);
+        }
+        return total;
+    }
+
+    // The load generator shares the JVM, so its own threads and buffers are part of
+    // both figures; it is identical across modes, which keeps them comparable.
+    private void report(ResourceSampler resources) throws IOException {
+        double baselineMb = resources.baselineHeap / 1048576.0;
+        double peakMb = resources.peakHeap / 1048576.0;
+        double perConnectionKb = Math.max(0, resources.peakHeap - resources.baselineHeap) / 1024.0 / concurrency;
+        System.out.printf("heap baseline %.1f MB, peak %.1f MB, %.1f KB per connection; threads %d -> %d%n%n",
+            baselineMb, peakMb, perConnectionKb, resources.baselineThreads, resources.peakThreads);
+
+        Path csv = Path.of("target", "loadtest-resources-" + mode() + ".csv");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv))) {
+            writer.println("concurrency,baseline_heap_mb,peak_heap_mb,heap_per_connection_kb,baseline_threads,peak_threads");
+            writer.printf("%d,%.1f,%.1f,%.1f,%d,%d%n",
+                concurrency, baselineMb, peakMb, perConnectionKb, resources.baselineThreads, resources.peakThreads);
+        }
+    }
+
+    private String mode() {
+        if ("reactive".equalsIgnoreCase(webApplicationType)) {
+            return "reactive";
+        }
+        return virtualThreads ? "virtual" : "platform";
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private static <T> List<T> saveInChunks(List<T> rows, Function<List<T>, List<T>> saveAll) {
+        List<T> saved = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += SEED_CHUNK) {
+            saved.addAll(saveAll.apply(rows.subList(from, Math.min(rows.size(), from + SEED_CHUNK))));
+        }
+        return saved;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    // Samples used heap and live threads every 100ms once the warmup is over; the
+    // baseline is taken after a GC, before any load.
+    private static final class ResourceSampler {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        private final long baselineHeap;
+        private final int baselineThreads;
+        private volatile long peakHeap;
+        private volatile int peakThreads;
+
+        ResourceSampler(long measureFrom) {
+            System.gc();
+            baselineHeap = memory.getHeapMemoryUsage().getUsed();
+            baselineThreads = threads.getThreadCount();
+            peakHeap = baselineHeap;
+            peakThreads = baselineThreads;
+            scheduler.scheduleAtFixedRate(() -> {
+                if (System.nanoTime() >= measureFrom) {
+                    peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+                    peakThreads = Math.max(peakThreads, threads.getThreadCount());
+                }
+            }, 100, 100, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Per-worker latency samples, merged once the run is over.
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long elapsed, boolean error) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = elapsed;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.nanos[i], false);
+            }
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.boardcamp.api;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Same seed and traffic mix as TrafficMixLoadTest, with requests on virtual threads
+// and database access behind the connection bulkhead. Compare the two reports with:
+// mvn test -Ploadtest -Dloadtest.concurrency=400
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"loadtest", "virtual-threads"})
+class VirtualThreadsTrafficMixLoadTest extends TrafficMixLoadTest {
+}